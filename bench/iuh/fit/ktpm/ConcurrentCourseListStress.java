@@ -0,0 +1,256 @@
+/*
+ * @ (#) ConcurrentCourseListStress.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * Checks that adding and deleting courses of a {@link ConcurrentCourseList}
+ * from many threads behaves as if each call happened at a single point in
+ * time, one after another.
+ * <p>
+ * Usage: {@code java -cp out iuh.fit.ktpm.ConcurrentCourseListStress [-threads N] [-ids N] [-ops N] [-rounds N] [-seed N]}.
+ * <p>
+ * In each round, the threads start together on an empty list and run a mix
+ * of 40% adds, 40% deletes and 20% searches on a small shared set of IDs,
+ * each written with its letters in a random case, so that threads keep
+ * colliding on the same IDs. Every thread counts its successful adds and
+ * deletes per ID. After the threads finish, the round checks that:
+ * <ul>
+ * <li>the successful adds minus the successful deletes equal the final {@code size()};</li>
+ * <li>no two courses of the list have the same ID ignoring case;</li>
+ * <li>for each ID, the successful adds minus the successful deletes are 1 if
+ *     the ID is in the list at the end and 0 otherwise, so every successful
+ *     add lines up with a successful delete or with the final course;</li>
+ * <li>each failed add was a duplicated ID and each failed delete an unknown
+ *     ID, and each search found the course of its ID or nothing;</li>
+ * <li>each course of the list is found again by its ID.</li>
+ * </ul>
+ * The program prints one line per round and exits with status 1 at the
+ * first violation.
+ */
+public class ConcurrentCourseListStress {
+	private static final String[] DEPARTMENTS = { "CNTT", "cntt", "Điện", "Cơ khí" };
+
+	private int threads = 8;
+	private int ids = 64;
+	private int ops = 200000;
+	private int rounds = 5;
+	private long seed = 42;
+
+	/**
+	 * Runs the stress test.
+	 *
+	 * @param args the options described in the class documentation
+	 * @throws Exception if a thread cannot be run
+	 */
+	public static void main(String[] args) throws Exception {
+		ConcurrentCourseListStress stress = new ConcurrentCourseListStress();
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			int value = Integer.parseInt(args[i + 1]);
+			switch (args[i]) {
+				case "-threads":
+					stress.threads = value;
+					break;
+				case "-ids":
+					stress.ids = value;
+					break;
+				case "-ops":
+					stress.ops = value;
+					break;
+				case "-rounds":
+					stress.rounds = value;
+					break;
+				case "-seed":
+					stress.seed = value;
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown option: " + args[i]);
+			}
+		}
+		ExecutorService pool = Executors.newFixedThreadPool(stress.threads);
+		try {
+			for (int round = 0; round < stress.rounds; round++) {
+				String failure = stress.round(pool, stress.seed + round);
+				if (failure != null) {
+					System.err.println("Round " + round + " failed: " + failure);
+					System.exit(1);
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * The counts of one thread, per ID.
+	 */
+	private static final class Result {
+		final long[] adds;
+		final long[] deletes;
+		long searches;
+		String failure;
+
+		Result(int ids) {
+			adds = new long[ids];
+			deletes = new long[ids];
+		}
+	}
+
+	/**
+	 * Runs one round.
+	 *
+	 * @return a description of the first violation, or null if there is none
+	 */
+	private String round(ExecutorService pool, long roundSeed) throws Exception {
+		ConcurrentCourseList list = new ConcurrentCourseList();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Result>> futures = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			Random random = new Random(roundSeed * 31 + t);
+			futures.add(pool.submit(() -> {
+				start.await();
+				return run(list, random);
+			}));
+		}
+		long begin = System.nanoTime();
+		start.countDown();
+		long[] adds = new long[ids];
+		long[] deletes = new long[ids];
+		long searches = 0;
+		for (Future<Result> future : futures) {
+			Result result = future.get();
+			if (result.failure != null) {
+				return result.failure;
+			}
+			for (int i = 0; i < ids; i++) {
+				adds[i] += result.adds[i];
+				deletes[i] += result.deletes[i];
+			}
+			searches += result.searches;
+		}
+		double seconds = (System.nanoTime() - begin) / 1e9;
+		String failure = check(list, adds, deletes);
+		long added = 0;
+		long deleted = 0;
+		for (int i = 0; i < ids; i++) {
+			added += adds[i];
+			deleted += deletes[i];
+		}
+		System.out.printf("%d threads, %d ops in %.2f s: %d adds, %d deletes, %d searches, %d courses left: %s%n",
+				threads, (long) threads * ops, seconds, added, deleted, searches, list.size(),
+				failure == null ? "ok" : "FAILED");
+		return failure;
+	}
+
+	private Result run(ConcurrentCourseList list, Random random) {
+		Result result = new Result(ids);
+		for (int n = 0; n < ops && result.failure == null; n++) {
+			int i = random.nextInt(ids);
+			String id = variant(i, random);
+			int kind = random.nextInt(10);
+			try {
+				if (kind < 4) {
+					list.addCourse(new Course(id, "Stress " + i, 1 + random.nextInt(5),
+							DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]));
+					result.adds[i]++;
+				} else if (kind < 8) {
+					list.deleteCourse(id);
+					result.deletes[i]++;
+				} else {
+					Course course = list.searchCourse(id);
+					if (course != null && !course.getId().equalsIgnoreCase(id)) {
+						result.failure = "searching " + id + " found " + course.getId();
+					}
+					result.searches++;
+				}
+			} catch (IllegalArgumentException e) {
+				String expected = kind < 4 ? "The course ID is duplicated." : "The course ID is not found.";
+				if (!expected.equals(e.getMessage())) {
+					result.failure = (kind < 4 ? "adding " : "deleting ") + id + " failed with: " + e.getMessage();
+				}
+			} catch (RuntimeException e) {
+				result.failure = id + " failed with " + e;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Checks the list after the threads have finished.
+	 *
+	 * @return a description of the first violation, or null if there is none
+	 */
+	private String check(ConcurrentCourseList list, long[] adds, long[] deletes) {
+		long added = 0;
+		long deleted = 0;
+		for (int i = 0; i < ids; i++) {
+			added += adds[i];
+			deleted += deletes[i];
+		}
+		if (added - deleted != list.size()) {
+			return added + " adds and " + deleted + " deletes, but " + list.size() + " courses";
+		}
+		Course[] courses = list.getCourse();
+		Map<String, Course> present = new HashMap<>();
+		if (courses != null) {
+			if (courses.length != list.size()) {
+				return courses.length + " courses returned, but size() is " + list.size();
+			}
+			for (Course course : courses) {
+				Course other = present.put(course.getId().toUpperCase(Locale.ROOT), course);
+				if (other != null) {
+					return course.getId() + " and " + other.getId() + " are both in the list";
+				}
+				if (list.searchCourse(course.getId()) != course) {
+					return course.getId() + " is in the list but not found by its ID";
+				}
+			}
+		}
+		for (int i = 0; i < ids; i++) {
+			long expected = present.containsKey(id(i)) ? 1 : 0;
+			if (adds[i] - deletes[i] != expected) {
+				return id(i) + " was added " + adds[i] + " times and deleted " + deletes[i]
+						+ " times, but is " + (expected == 1 ? "" : "not ") + "in the list";
+			}
+		}
+		return null;
+	}
+
+	private static String id(int i) {
+		return "CS" + (1000 + i);
+	}
+
+	/**
+	 * Returns an ID with each of its letters in a random case.
+	 */
+	private static String variant(int i, Random random) {
+		char[] chars = id(i).toCharArray();
+		for (int j = 0; j < chars.length; j++) {
+			if (Character.isLetter(chars[j]) && random.nextBoolean()) {
+				chars[j] = Character.toLowerCase(chars[j]);
+			}
+		}
+		return new String(chars);
+	}
+}
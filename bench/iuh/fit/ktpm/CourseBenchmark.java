@@ -0,0 +1,579 @@
+/*
+ * @ (#) CourseBenchmark.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * Measures the time and the memory allocated per operation of CourseList,
+ * and of encoding and decoding a whole list with CourseCodec.
+ * <p>
+ * The same workloads are JMH benchmarks in {@code bench/jmh}, which the Gradle
+ * build runs with {@code gradle :bench:jmh}. This harness needs nothing but
+ * the JDK: it is compiled together with the sources and run from the command line:
+ * <pre>
+ * javac -encoding UTF-8 -d out src/iuh/fit/ktpm/*.java bench/iuh/fit/ktpm/*.java
+ * java -Xms2g -Xmx2g -cp out iuh.fit.ktpm.CourseBenchmark [options]
+ * </pre>
+ * The options are:
+ * <ul>
+ * <li>{@code -sizes 10,1000,...}: the catalog sizes, from 10 to 10^6 by powers of ten by default</li>
+ * <li>{@code -ops searchCourse,...}: the operations to measure, all by default</li>
+ * <li>{@code -warmup N} and {@code -iterations N}: the number of warm-up and measured iterations</li>
+ * <li>{@code -time MS}: the length of an iteration in milliseconds</li>
+ * <li>{@code -cache N}: the query cache size of the lists, 0 (off) by default</li>
+ * <li>{@code -csv FILE}: also append the results to a CSV file, to compare runs over time</li>
+ * </ul>
+ * <p>
+ * Each operation runs repeatedly until an iteration has lasted long enough.
+ * The operations that change the list (addCourse, deleteCourse, removeIf) rebuild
+ * their catalog before each run without counting that time or memory. The
+ * reported allocation is measured on the benchmark thread only; the garbage
+ * collections are counted over the whole measurement, including the
+ * rebuilding of catalogs.
+ * <p>
+ * load opens a saved snapshot of the catalog with {@link CourseList#load(Path)},
+ * which is how TestCourse starts, and loadSearch also searches it for one ID,
+ * which decodes the courses and builds the ID index. The snapshot is written
+ * to a temporary file once, before the first run.
+ */
+public class CourseBenchmark {
+	private static final String[] OPERATIONS = {
+			"addCourse", "searchCourse", "deleteCourse", "removeIf", "searchCourseRelatively",
+			"searchCourseFuzzy", "searchDepartment", "sortName", "topK", "maxCredit", "topCredit",
+			"countDepartment", "encode", "decode", "load", "loadSearch"
+	};
+	private static final int QUERIES = 1024;
+	static final long SEED = 42;
+
+	/** Results of the operations are folded in here so that the JIT cannot drop them. */
+	private static volatile int sink;
+
+	private int[] sizes = { 10, 100, 1000, 10000, 100000, 1000000 };
+	private List<String> operations = Arrays.asList(OPERATIONS);
+	private int warmup = 3;
+	private int iterations = 5;
+	private long iterationNanos = 500_000_000L;
+	private String csv;
+	private int cacheSize;
+
+	/**
+	 * Runs the benchmarks.
+	 *
+	 * @param args the options described in the class documentation
+	 * @throws IOException if the CSV file cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		CourseBenchmark benchmark = new CourseBenchmark();
+		benchmark.parse(args);
+		benchmark.run();
+	}
+
+	private void parse(String[] args) {
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			String value = args[i + 1];
+			switch (args[i]) {
+				case "-sizes":
+					sizes = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+					break;
+				case "-ops":
+					operations = Arrays.asList(value.split(","));
+					for (String operation : operations) {
+						if (!Arrays.asList(OPERATIONS).contains(operation)) {
+							throw new IllegalArgumentException("Unknown operation: " + operation);
+						}
+					}
+					break;
+				case "-warmup":
+					warmup = Integer.parseInt(value);
+					break;
+				case "-iterations":
+					iterations = Integer.parseInt(value);
+					break;
+				case "-time":
+					iterationNanos = Long.parseLong(value) * 1_000_000L;
+					break;
+				case "-csv":
+					csv = value;
+					break;
+				case "-cache":
+					cacheSize = Integer.parseInt(value);
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown option: " + args[i]);
+			}
+		}
+	}
+
+	private void run() throws IOException {
+		String date = Instant.now().toString();
+		String header = String.format("%-24s %9s %14s %10s %14s %12s %6s %8s",
+				"OPERATION", "SIZE", "NS/OP", "+-", "OPS/S", "BYTES/OP", "GC", "GC MS");
+		System.out.println(header);
+		for (String operation : operations) {
+			for (int size : sizes) {
+				Workload workload = workload(operation, size);
+				workload.cacheSize = cacheSize;
+				Result result = measure(workload);
+				System.out.println(String.format("%-24s %9d %14.1f %10.1f %14.0f %12.1f %6d %8d",
+						operation, size, result.nanosPerOp, result.error, 1e9 / result.nanosPerOp,
+						result.bytesPerOp, result.gcCount, result.gcMillis));
+				if (csv != null) {
+					append(date, operation, size, result);
+				}
+			}
+		}
+	}
+
+	private Result measure(Workload workload) {
+		for (int i = 0; i < warmup; i++) {
+			iteration(workload);
+		}
+		long gcCount = gcCount();
+		long gcMillis = gcMillis();
+		double[] nanosPerOp = new double[iterations];
+		long nanos = 0;
+		long bytes = 0;
+		long ops = 0;
+		for (int i = 0; i < iterations; i++) {
+			long[] sample = iteration(workload);
+			nanosPerOp[i] = (double) sample[0] / sample[2];
+			nanos += sample[0];
+			bytes += sample[1];
+			ops += sample[2];
+		}
+		Result result = new Result();
+		result.nanosPerOp = (double) nanos / ops;
+		result.error = stdev(nanosPerOp);
+		result.bytesPerOp = bytes < 0 ? Double.NaN : (double) bytes / ops;
+		result.gcCount = gcCount() - gcCount;
+		result.gcMillis = gcMillis() - gcMillis;
+		return result;
+	}
+
+	/**
+	 * Runs a workload until an iteration has lasted long enough.
+	 *
+	 * @return the measured nanoseconds, allocated bytes (negative if unknown) and number of operations
+	 */
+	private long[] iteration(Workload workload) {
+		long nanos = 0;
+		long bytes = 0;
+		long ops = 0;
+		while (nanos < iterationNanos) {
+			workload.prepare();
+			long allocated = allocatedBytes();
+			long start = System.nanoTime();
+			ops += workload.run();
+			nanos += System.nanoTime() - start;
+			bytes += allocatedBytes() - allocated;
+		}
+		return new long[] { nanos, allocatedBytes() < 0 ? -1 : bytes, ops };
+	}
+
+	private Workload workload(String operation, int size) {
+		CourseGenerator generator = new CourseGenerator(SEED);
+		Course[] catalog = generator.courses(size);
+		switch (operation) {
+			case "addCourse":
+				return new Workload() {
+					@Override
+					void prepare() {
+						list = new CourseList();
+						copies = copy(catalog);
+					}
+
+					@Override
+					int run() {
+						for (Course course : copies) {
+							list.addCourse(course);
+						}
+						return copies.length;
+					}
+				};
+			case "deleteCourse":
+				return new Workload() {
+					private final String[] ids = shuffledIds(catalog, generator);
+
+					@Override
+					void prepare() {
+						list = fill(catalog, cacheSize);
+					}
+
+					@Override
+					int run() {
+						for (String id : ids) {
+							list.deleteCourse(id);
+						}
+						return ids.length;
+					}
+				};
+			case "removeIf":
+				return new Workload() {
+					@Override
+					void prepare() {
+						list = fill(catalog, cacheSize);
+					}
+
+					@Override
+					int run() {
+						// Most generated courses have 3 credits, so this deletes a minority
+						// spread over the whole list.
+						int removed = list.removeIf(course -> course.getCredit() != 3);
+						sink += removed;
+						return Math.max(removed, 1);
+					}
+				};
+			case "searchCourse":
+				return new ReadWorkload(catalog) {
+					private final String[] ids = queries(catalog, generator);
+
+					@Override
+					int run() {
+						int found = 0;
+						for (String id : ids) {
+							found += list.searchCourse(id) == null ? 0 : 1;
+						}
+						sink += found;
+						return ids.length;
+					}
+				};
+			case "searchCourseRelatively":
+				return new ReadWorkload(catalog) {
+					private final String[] titles = titleQueries(generator);
+					private int next;
+
+					@Override
+					int run() {
+						Course[] result = list.searchCourseRelatively(titles[next++ & (titles.length - 1)]);
+						sink += result == null ? 0 : result.length;
+						return 1;
+					}
+				};
+			case "searchCourseFuzzy":
+				return new ReadWorkload(catalog) {
+					private final String[] titles = typoQueries(generator);
+					private int next;
+
+					@Override
+					int run() {
+						sink += list.searchCourseFuzzy(titles[next++ & (titles.length - 1)], 2, 20).length;
+						return 1;
+					}
+				};
+			case "searchDepartment":
+				return new ReadWorkload(catalog) {
+					private final String[] departments = departmentQueries(generator);
+					private int next;
+
+					@Override
+					int run() {
+						Course[] result = list.searchDepartment(departments[next++ & (departments.length - 1)]);
+						sink += result == null ? 0 : result.length;
+						return 1;
+					}
+				};
+			case "sortName":
+				return new ReadWorkload(catalog) {
+					@Override
+					int run() {
+						sink += list.sortName().length;
+						return 1;
+					}
+				};
+			case "topK":
+				return new ReadWorkload(catalog) {
+					@Override
+					int run() {
+						sink += list.topK(CourseOrder.DEPARTMENT, 20).length;
+						return 1;
+					}
+				};
+			case "maxCredit":
+				return new ReadWorkload(catalog) {
+					@Override
+					int run() {
+						sink += list.maxCredit().length;
+						return 1;
+					}
+				};
+			case "topCredit":
+				return new ReadWorkload(catalog) {
+					@Override
+					int run() {
+						sink += list.topCredit(10).length;
+						return 1;
+					}
+				};
+			case "countDepartment":
+				return new ReadWorkload(catalog) {
+					@Override
+					int run() {
+						String department = list.countDepartment();
+						sink += department == null ? 0 : department.length();
+						return 1;
+					}
+				};
+			case "encode":
+				return new ReadWorkload(catalog) {
+					@Override
+					int run() {
+						sink += CourseCodec.encode(list).remaining();
+						return 1;
+					}
+				};
+			case "decode":
+				return new ReadWorkload(catalog) {
+					private ByteBuffer batch;
+
+					@Override
+					void prepare() {
+						super.prepare();
+						if (batch == null) {
+							batch = CourseCodec.encode(list);
+						}
+					}
+
+					@Override
+					int run() {
+						sink += CourseCodec.decode(batch.duplicate()).length;
+						return 1;
+					}
+				};
+			case "load":
+			case "loadSearch":
+				return new Workload() {
+					private Path file;
+
+					@Override
+					void prepare() {
+						if (file == null) {
+							file = snapshot(catalog);
+						}
+					}
+
+					@Override
+					int run() {
+						try {
+							CourseList loaded = CourseList.load(file);
+							sink += loaded.size();
+							if (operation.equals("loadSearch") && catalog.length > 0
+									&& loaded.searchCourse(catalog[catalog.length / 2].getId()) != null) {
+								sink++;
+							}
+						} catch (IOException e) {
+							throw new UncheckedIOException(e);
+						}
+						return 1;
+					}
+				};
+			default:
+				throw new IllegalArgumentException("Unknown operation: " + operation);
+		}
+	}
+
+	/**
+	 * Writes a catalog to a temporary snapshot file that is deleted when the benchmark exits.
+	 */
+	static Path snapshot(Course[] catalog) {
+		try {
+			Path file = Files.createTempFile("courses", ".snapshot");
+			file.toFile().deleteOnExit();
+			CourseSnapshot.write(catalog, Integer.MAX_VALUE, file);
+			return file;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	static CourseList fill(Course[] catalog, int cacheSize) {
+		CourseList list = new CourseList();
+		list.setQueryCacheSize(cacheSize);
+		for (Course course : copy(catalog)) {
+			list.addCourse(course);
+		}
+		return list;
+	}
+
+	/**
+	 * Copies the courses, because a course can only be added to one list.
+	 */
+	static Course[] copy(Course[] catalog) {
+		Course[] copies = new Course[catalog.length];
+		for (int i = 0; i < catalog.length; i++) {
+			Course course = catalog[i];
+			copies[i] = new Course(course.getId(), course.getTitle(), course.getCredit(), course.getDepartment());
+		}
+		return copies;
+	}
+
+	static String[] shuffledIds(Course[] catalog, CourseGenerator generator) {
+		String[] ids = new String[catalog.length];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = catalog[i].getId();
+		}
+		for (int i = ids.length - 1; i > 0; i--) {
+			int j = generator.nextInt(i + 1);
+			String id = ids[i];
+			ids[i] = ids[j];
+			ids[j] = id;
+		}
+		return ids;
+	}
+
+	/**
+	 * Picks IDs to search for: mostly IDs of the catalog in lower case, one in eight missing.
+	 */
+	static String[] queries(Course[] catalog, CourseGenerator generator) {
+		String[] ids = new String[QUERIES];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = i % 8 == 7 ? generator.missingId()
+					: catalog[generator.nextInt(catalog.length)].getId().toLowerCase();
+		}
+		return ids;
+	}
+
+	static String[] titleQueries(CourseGenerator generator) {
+		String[] titles = new String[64];
+		for (int i = 0; i < titles.length; i++) {
+			titles[i] = generator.titleQuery();
+		}
+		return titles;
+	}
+
+	static String[] typoQueries(CourseGenerator generator) {
+		String[] titles = new String[64];
+		for (int i = 0; i < titles.length; i++) {
+			titles[i] = generator.typoQuery();
+		}
+		return titles;
+	}
+
+	static String[] departmentQueries(CourseGenerator generator) {
+		String[] departments = new String[64];
+		for (int i = 0; i < departments.length; i++) {
+			departments[i] = generator.department(true);
+		}
+		return departments;
+	}
+
+	private static long allocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+			if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+				return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+		return -1;
+	}
+
+	private static long gcCount() {
+		long count = 0;
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			count += Math.max(0, bean.getCollectionCount());
+		}
+		return count;
+	}
+
+	private static long gcMillis() {
+		long millis = 0;
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			millis += Math.max(0, bean.getCollectionTime());
+		}
+		return millis;
+	}
+
+	private static double stdev(double[] values) {
+		double mean = 0;
+		for (double value : values) {
+			mean += value / values.length;
+		}
+		double sum = 0;
+		for (double value : values) {
+			sum += (value - mean) * (value - mean);
+		}
+		return values.length < 2 ? 0 : Math.sqrt(sum / (values.length - 1));
+	}
+
+	private void append(String date, String operation, int size, Result result) throws IOException {
+		boolean isNew = !new File(csv).exists();
+		try (PrintWriter out = new PrintWriter(new FileWriter(csv, true))) {
+			if (isNew) {
+				out.println("date,operation,size,ns_per_op,error,bytes_per_op,gc_count,gc_ms");
+			}
+			out.println(String.format(Locale.ROOT, "%s,%s,%d,%.2f,%.2f,%.2f,%d,%d", date, operation, size,
+					result.nanosPerOp, result.error, result.bytesPerOp, result.gcCount, result.gcMillis));
+		}
+	}
+
+	/**
+	 * An operation on a catalog. prepare runs before each run and is not measured.
+	 */
+	private abstract static class Workload {
+		CourseList list;
+		Course[] copies;
+		/** The query cache size of the lists that the workload fills. */
+		int cacheSize;
+
+		abstract void prepare();
+
+		/**
+		 * Runs the operation.
+		 *
+		 * @return the number of operations performed
+		 */
+		abstract int run();
+	}
+
+	/**
+	 * A workload that does not change the list, so the list is only filled once.
+	 */
+	private abstract static class ReadWorkload extends Workload {
+		private final Course[] catalog;
+
+		ReadWorkload(Course[] catalog) {
+			this.catalog = catalog;
+		}
+
+		@Override
+		void prepare() {
+			if (list == null) {
+				list = fill(catalog, cacheSize);
+			}
+		}
+	}
+
+	private static final class Result {
+		double nanosPerOp;
+		double error;
+		double bytesPerOp;
+		long gcCount;
+		long gcMillis;
+	}
+}
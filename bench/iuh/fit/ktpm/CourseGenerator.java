@@ -0,0 +1,171 @@
+/*
+ * @ (#) CourseGenerator.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.util.Random;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * Generates catalogs of courses that look like a university's for the benchmarks.
+ * <p>
+ * IDs are a department code followed by a seven-digit number, such as
+ * {@code IT0000123}. Titles combine a Vietnamese subject with a level or a
+ * topic, so many titles share words the way real ones do. Departments are
+ * drawn with a skewed distribution in which the first departments have far
+ * more courses than the last ones, and most courses have 3 credits. The same
+ * seed always produces the same courses.
+ */
+public class CourseGenerator {
+	private static final String[] CODES = {
+			"IT", "CS", "SE", "IS", "MA", "PH", "CH", "EC", "BA", "EN", "EE", "ME"
+	};
+	private static final String[] DEPARTMENTS = {
+			"Công nghệ thông tin", "Khoa học máy tính", "Kỹ thuật phần mềm", "Hệ thống thông tin",
+			"Toán ứng dụng", "Vật lý", "Hóa học", "Kinh tế", "Quản trị kinh doanh", "Ngoại ngữ",
+			"Điện tử", "Cơ khí"
+	};
+	private static final String[] SUBJECTS = {
+			"Nhập môn lập trình", "Lập trình hướng đối tượng", "Cấu trúc dữ liệu và giải thuật",
+			"Cơ sở dữ liệu", "Mạng máy tính", "Hệ điều hành", "Kiến trúc máy tính",
+			"Kiểm thử phần mềm", "Phân tích thiết kế hệ thống", "Trí tuệ nhân tạo", "Học máy",
+			"Giải tích", "Đại số tuyến tính", "Xác suất thống kê", "Toán rời rạc", "Vật lý đại cương",
+			"Hóa học đại cương", "Kinh tế vi mô", "Kinh tế vĩ mô", "Nguyên lý kế toán",
+			"Quản trị học", "Marketing căn bản", "Tiếng Anh", "Kỹ thuật điện", "Vẽ kỹ thuật"
+	};
+	private static final String[] LEVELS = { "1", "2", "3", "nâng cao", "ứng dụng", "thực hành" };
+	private static final int[] CREDITS = { 1, 2, 2, 3, 3, 3, 3, 3, 4, 4, 5 };
+
+	private final Random random;
+	private int next;
+
+	/**
+	 * Constructs a generator.
+	 *
+	 * @param seed the seed of the random values
+	 */
+	public CourseGenerator(long seed) {
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * Generates the next course. Each course gets a new number, so the IDs of
+	 * the courses of one generator are all different.
+	 *
+	 * @return a new course
+	 */
+	public Course next() {
+		int department = department();
+		return new Course(id(department, next++), title(), CREDITS[random.nextInt(CREDITS.length)],
+				DEPARTMENTS[department]);
+	}
+
+	/**
+	 * Generates a number of courses.
+	 *
+	 * @param n the number of courses
+	 * @return an array of n new courses
+	 */
+	public Course[] courses(int n) {
+		Course[] courses = new Course[n];
+		for (int i = 0; i < n; i++) {
+			courses[i] = next();
+		}
+		return courses;
+	}
+
+	/**
+	 * Generates a title query: a word or a part of a word of a subject.
+	 *
+	 * @return a title query in lower case
+	 */
+	public String titleQuery() {
+		String[] words = SUBJECTS[random.nextInt(SUBJECTS.length)].toLowerCase().split(" ");
+		String word = words[random.nextInt(words.length)];
+		if (word.length() > 3 && random.nextBoolean()) {
+			return word.substring(0, 3);
+		}
+		return word;
+	}
+
+	/**
+	 * Generates a title query with a typo: a subject without diacritics in
+	 * which one word of four or more letters has a letter dropped or replaced.
+	 *
+	 * @return a title query in lower case
+	 */
+	public String typoQuery() {
+		String[] words = CourseKeys.text(SUBJECTS[random.nextInt(SUBJECTS.length)]).split(" ");
+		int w = random.nextInt(words.length);
+		if (words[w].length() >= 4) {
+			StringBuilder word = new StringBuilder(words[w]);
+			int i = random.nextInt(word.length());
+			if (random.nextBoolean()) {
+				word.deleteCharAt(i);
+			} else {
+				word.setCharAt(i, (char) ('a' + random.nextInt(26)));
+			}
+			words[w] = word.toString();
+		}
+		return String.join(" ", words);
+	}
+
+	/**
+	 * Picks a department, with the same skew as the generated courses.
+	 *
+	 * @param anyCase whether the department may be returned in upper case
+	 * @return the name of a department, sometimes in upper case
+	 */
+	public String department(boolean anyCase) {
+		String name = DEPARTMENTS[department()];
+		return anyCase && random.nextBoolean() ? name.toUpperCase() : name;
+	}
+
+	/**
+	 * Generates an ID that no course of this generator has.
+	 *
+	 * @return an unused ID
+	 */
+	public String missingId() {
+		return "ZZ" + (10000000 + random.nextInt(10000000));
+	}
+
+	/**
+	 * Returns a random number below a bound, from the random values of this generator.
+	 *
+	 * @param bound the bound
+	 * @return a number from 0 to bound - 1
+	 */
+	public int nextInt(int bound) {
+		return random.nextInt(bound);
+	}
+
+	private int department() {
+		// Squaring a uniform value puts more courses in the first departments.
+		double u = random.nextDouble();
+		return (int) (u * u * DEPARTMENTS.length);
+	}
+
+	private String title() {
+		String subject = SUBJECTS[random.nextInt(SUBJECTS.length)];
+		return random.nextInt(3) == 0 ? subject : subject + " " + LEVELS[random.nextInt(LEVELS.length)];
+	}
+
+	private static String id(int department, int number) {
+		String digits = Integer.toString(number % 10000000);
+		StringBuilder id = new StringBuilder(9).append(CODES[department]);
+		for (int i = digits.length(); i < 7; i++) {
+			id.append('0');
+		}
+		return id.append(digits).toString();
+	}
+}
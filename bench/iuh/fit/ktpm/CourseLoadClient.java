@@ -0,0 +1,179 @@
+/*
+ * @ (#) CourseLoadClient.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * Sends requests to a {@link CourseHttpServer} from several threads and
+ * reports the throughput and the latency percentiles.
+ * <p>
+ * Usage: {@code java -cp out iuh.fit.ktpm.CourseLoadClient [-url URL] [-courses N] [-threads N] [-seconds N]}.
+ * Without {@code -url}, the client starts a server on a free local port and
+ * measures it. It first adds the generated courses, then runs for the given
+ * time a mix of requests: 70% by ID, 10% by title, 10% by department, 5%
+ * sorted pages and 5% top department.
+ */
+public class CourseLoadClient {
+	private String url;
+	private int courses = 10000;
+	private int threads = 8;
+	private int seconds = 10;
+
+	/**
+	 * Runs the load test.
+	 *
+	 * @param args the options described in the class documentation
+	 * @throws Exception if the server cannot be started or a request fails
+	 */
+	public static void main(String[] args) throws Exception {
+		CourseLoadClient client = new CourseLoadClient();
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			switch (args[i]) {
+				case "-url":
+					client.url = args[i + 1];
+					break;
+				case "-courses":
+					client.courses = Integer.parseInt(args[i + 1]);
+					break;
+				case "-threads":
+					client.threads = Integer.parseInt(args[i + 1]);
+					break;
+				case "-seconds":
+					client.seconds = Integer.parseInt(args[i + 1]);
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown option: " + args[i]);
+			}
+		}
+		CourseHttpServer server = null;
+		if (client.url == null) {
+			CourseHttpServer.enableNoDelay();
+			server = new CourseHttpServer(new ConcurrentCourseList(), 0);
+			server.start();
+			client.url = "http://localhost:" + server.getPort();
+		}
+		try {
+			client.run();
+		} finally {
+			if (server != null) {
+				server.stop();
+			}
+		}
+	}
+
+	private void run() throws Exception {
+		HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		CourseGenerator generator = new CourseGenerator(1);
+		Course[] catalog = generator.courses(courses);
+		long start = System.nanoTime();
+		for (Course course : catalog) {
+			String body = "{\"id\":\"" + course.getId() + "\",\"title\":\"" + course.getTitle() + "\",\"credit\":"
+					+ course.getCredit() + ",\"department\":\"" + course.getDepartment() + "\"}";
+			HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(url + "/courses"))
+					.POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+			if (response.statusCode() != 201 && response.statusCode() != 409) {
+				throw new IOException("Adding a course failed: " + response.body());
+			}
+		}
+		System.out.printf("Added %d courses in %.1f s%n", courses, (System.nanoTime() - start) / 1e9);
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		long end = System.nanoTime() + seconds * 1_000_000_000L;
+		List<Future<long[]>> results = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			long seed = t;
+			results.add(pool.submit(() -> load(http, catalog, new CourseGenerator(seed), end)));
+		}
+		long[] latencies = new long[0];
+		for (Future<long[]> result : results) {
+			long[] part = result.get();
+			int n = latencies.length;
+			latencies = Arrays.copyOf(latencies, n + part.length);
+			System.arraycopy(part, 0, latencies, n, part.length);
+		}
+		pool.shutdown();
+		Arrays.sort(latencies);
+		System.out.printf("%d requests in %d s: %.0f requests/s%n", latencies.length, seconds,
+				(double) latencies.length / seconds);
+		System.out.printf("latency p50 %.3f ms, p99 %.3f ms, p99.9 %.3f ms, max %.3f ms%n",
+				percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+				latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6);
+	}
+
+	/**
+	 * Sends requests until the end time.
+	 *
+	 * @return the latency of each request in nanoseconds
+	 */
+	private long[] load(HttpClient http, Course[] catalog, CourseGenerator generator, long end) throws Exception {
+		long[] latencies = new long[1 << 12];
+		int n = 0;
+		while (System.nanoTime() < end) {
+			URI uri = URI.create(url + path(catalog, generator));
+			long start = System.nanoTime();
+			HttpResponse<byte[]> response = http.send(HttpRequest.newBuilder(uri).build(),
+					HttpResponse.BodyHandlers.ofByteArray());
+			long latency = System.nanoTime() - start;
+			if (response.statusCode() != 200) {
+				throw new IOException(uri + " returned " + response.statusCode());
+			}
+			if (n == latencies.length) {
+				latencies = Arrays.copyOf(latencies, n * 2);
+			}
+			latencies[n++] = latency;
+		}
+		return Arrays.copyOf(latencies, n);
+	}
+
+	private static String path(Course[] catalog, CourseGenerator generator) {
+		int kind = generator.nextInt(100);
+		if (kind < 70) {
+			return "/courses/" + catalog[generator.nextInt(catalog.length)].getId();
+		}
+		if (kind < 80) {
+			return "/search?title=" + encode(generator.titleQuery());
+		}
+		if (kind < 90) {
+			return "/search?department=" + encode(generator.department(true));
+		}
+		if (kind < 95) {
+			return "/sorted?offset=" + generator.nextInt(Math.max(1, catalog.length)) + "&limit=20";
+		}
+		return "/top-department";
+	}
+
+	private static String encode(String text) {
+		return URLEncoder.encode(text, StandardCharsets.UTF_8);
+	}
+
+	private static double percentile(long[] sorted, double p) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * @ (#) CourseListReadBenchmark.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * The operations of {@link CourseBenchmark} that do not change the list, as
+ * JMH benchmarks. The list is filled once per trial with a catalog from
+ * {@link CourseGenerator}, and the searches go through the same queries as
+ * CourseBenchmark, one query per call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = { "-Xms2g", "-Xmx2g" })
+public class CourseListReadBenchmark {
+	@Param({ "10", "100", "1000", "10000", "100000", "1000000" })
+	private int size;
+
+	private CourseList list;
+	private ByteBuffer batch;
+	private String[] ids;
+	private String[] titles;
+	private String[] typos;
+	private String[] departments;
+	private int next;
+
+	/**
+	 * Fills the list and picks the queries.
+	 */
+	@Setup
+	public void setUp() {
+		CourseGenerator generator = new CourseGenerator(CourseBenchmark.SEED);
+		Course[] catalog = generator.courses(size);
+		list = CourseBenchmark.fill(catalog, 0);
+		batch = CourseCodec.encode(list);
+		ids = CourseBenchmark.queries(catalog, generator);
+		titles = CourseBenchmark.titleQueries(generator);
+		typos = CourseBenchmark.typoQueries(generator);
+		departments = CourseBenchmark.departmentQueries(generator);
+	}
+
+	@Benchmark
+	public Course searchCourse() {
+		return list.searchCourse(ids[next++ & (ids.length - 1)]);
+	}
+
+	@Benchmark
+	public Course[] searchCourseRelatively() {
+		return list.searchCourseRelatively(titles[next++ & (titles.length - 1)]);
+	}
+
+	@Benchmark
+	public Course[] searchCourseFuzzy() {
+		return list.searchCourseFuzzy(typos[next++ & (typos.length - 1)], 2, 20);
+	}
+
+	@Benchmark
+	public Course[] searchDepartment() {
+		return list.searchDepartment(departments[next++ & (departments.length - 1)]);
+	}
+
+	@Benchmark
+	public Course[] sortName() {
+		return list.sortName();
+	}
+
+	@Benchmark
+	public Course[] topK() {
+		return list.topK(CourseOrder.DEPARTMENT, 20);
+	}
+
+	@Benchmark
+	public Course[] maxCredit() {
+		return list.maxCredit();
+	}
+
+	@Benchmark
+	public Course[] topCredit() {
+		return list.topCredit(10);
+	}
+
+	@Benchmark
+	public String countDepartment() {
+		return list.countDepartment();
+	}
+
+	@Benchmark
+	public ByteBuffer encode() {
+		return CourseCodec.encode(list);
+	}
+
+	@Benchmark
+	public Course[] decode() {
+		return CourseCodec.decode(batch.duplicate());
+	}
+}
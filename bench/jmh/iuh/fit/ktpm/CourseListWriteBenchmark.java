@@ -0,0 +1,111 @@
+/*
+ * @ (#) CourseListWriteBenchmark.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * The operations of {@link CourseBenchmark} that change the list, as JMH
+ * benchmarks. Like in CourseBenchmark, each call works on the whole catalog
+ * (adding all of its courses, deleting all of them in a random order, or
+ * removing the courses without 3 credits) and the list is rebuilt before
+ * each call, so the reported time and allocation are per catalog, not per course.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = { "-Xms2g", "-Xmx2g" })
+public class CourseListWriteBenchmark {
+	/**
+	 * The generated catalog and the order in which its IDs are deleted.
+	 */
+	@State(Scope.Benchmark)
+	public static class Catalog {
+		@Param({ "10", "100", "1000", "10000", "100000", "1000000" })
+		int size;
+
+		Course[] courses;
+		String[] ids;
+
+		@Setup
+		public void setUp() {
+			CourseGenerator generator = new CourseGenerator(CourseBenchmark.SEED);
+			courses = generator.courses(size);
+			ids = CourseBenchmark.shuffledIds(courses, generator);
+		}
+	}
+
+	/**
+	 * An empty list and new copies of the catalog to add to it.
+	 */
+	@State(Scope.Thread)
+	public static class Empty {
+		CourseList list;
+		Course[] copies;
+
+		@Setup(Level.Invocation)
+		public void setUp(Catalog catalog) {
+			list = new CourseList();
+			copies = CourseBenchmark.copy(catalog.courses);
+		}
+	}
+
+	/**
+	 * A list filled with the catalog.
+	 */
+	@State(Scope.Thread)
+	public static class Filled {
+		CourseList list;
+
+		@Setup(Level.Invocation)
+		public void setUp(Catalog catalog) {
+			list = CourseBenchmark.fill(catalog.courses, 0);
+		}
+	}
+
+	@Benchmark
+	public CourseList addCourse(Empty state) {
+		for (Course course : state.copies) {
+			state.list.addCourse(course);
+		}
+		return state.list;
+	}
+
+	@Benchmark
+	public CourseList deleteCourse(Catalog catalog, Filled state) {
+		for (String id : catalog.ids) {
+			state.list.deleteCourse(id);
+		}
+		return state.list;
+	}
+
+	@Benchmark
+	public int removeIf(Filled state) {
+		return state.list.removeIf(course -> course.getCredit() != 3);
+	}
+}
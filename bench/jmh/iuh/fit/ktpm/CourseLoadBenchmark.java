@@ -0,0 +1,77 @@
+/*
+ * @ (#) CourseLoadBenchmark.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * The load and loadSearch operations of {@link CourseBenchmark} as JMH
+ * benchmarks: opening a saved snapshot of the catalog with
+ * {@link CourseList#load(Path)}, as TestCourse does when it starts, and
+ * then searching the loaded list for one ID.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = { "-Xms2g", "-Xmx2g" })
+public class CourseLoadBenchmark {
+	@Param({ "10", "100", "1000", "10000", "100000", "1000000" })
+	private int size;
+
+	private Path file;
+	private String id;
+
+	/**
+	 * Writes the catalog to a snapshot file.
+	 */
+	@Setup
+	public void setUp() {
+		Course[] catalog = new CourseGenerator(CourseBenchmark.SEED).courses(size);
+		file = CourseBenchmark.snapshot(catalog);
+		id = catalog[catalog.length / 2].getId();
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Benchmark
+	public CourseList load() throws IOException {
+		return CourseList.load(file);
+	}
+
+	@Benchmark
+	public Course loadSearch() throws IOException {
+		return CourseList.load(file).searchCourse(id);
+	}
+}
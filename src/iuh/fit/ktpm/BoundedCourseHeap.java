@@ -0,0 +1,95 @@
+/*
+ * @ (#) BoundedCourseHeap.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * Keeps the first k courses offered to it under an order, in a binary
+ * max-heap of k entries whose root is the last course kept. Offering n
+ * courses takes O(n log k) time and O(k) memory.
+ */
+final class BoundedCourseHeap {
+	private final Comparator<? super Course> order;
+	private final Course[] heap;
+	private int size;
+
+	/**
+	 * Constructs an empty heap.
+	 *
+	 * @param order the order, under which no two offered courses may be equal
+	 * @param k the number of courses to keep, at least 1
+	 */
+	BoundedCourseHeap(Comparator<? super Course> order, int k) {
+		this.order = order;
+		this.heap = new Course[k];
+	}
+
+	/**
+	 * Offers a course, which is kept if fewer than k courses come before it so far.
+	 *
+	 * @param course the course
+	 */
+	void offer(Course course) {
+		if (size < heap.length) {
+			int i = size++;
+			// Sift up.
+			while (i > 0) {
+				int parent = (i - 1) >>> 1;
+				if (order.compare(course, heap[parent]) <= 0) {
+					break;
+				}
+				heap[i] = heap[parent];
+				i = parent;
+			}
+			heap[i] = course;
+		} else if (order.compare(course, heap[0]) < 0) {
+			siftDown(course);
+		}
+	}
+
+	/**
+	 * Puts a course at the root in place of the last course kept, and moves
+	 * it down to its place.
+	 */
+	private void siftDown(Course course) {
+		int i = 0;
+		int half = size >>> 1;
+		while (i < half) {
+			int child = 2 * i + 1;
+			if (child + 1 < size && order.compare(heap[child + 1], heap[child]) > 0) {
+				child++;
+			}
+			if (order.compare(course, heap[child]) >= 0) {
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = course;
+	}
+
+	/**
+	 * Returns the courses kept, in order, skipping the first ones.
+	 *
+	 * @param offset the number of courses to skip
+	 * @return a new array with the courses kept after the first offset
+	 */
+	Course[] toArray(int offset) {
+		Course[] sorted = Arrays.copyOf(heap, size);
+		Arrays.sort(sorted, order);
+		return offset == 0 ? sorted : Arrays.copyOfRange(sorted, Math.min(offset, size), size);
+	}
+}
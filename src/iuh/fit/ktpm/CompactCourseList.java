@@ -0,0 +1,551 @@
+/*
+ * @ (#) CompactCourseList.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * A course list with the same operations as {@link CourseList} that stores
+ * its courses as columns of primitive arrays instead of Course objects.
+ * <p>
+ * Credits are kept in an int array and departments as small int codes, so
+ * searching by department or credit compares ints. IDs and titles are packed
+ * into shared byte and char arrays. The only index is a hash table from ID
+ * to row; the other searches scan the columns. This uses several times less
+ * memory than CourseList, which keeps a Course object and a set of indexes
+ * per course, in exchange for slower title searches and sorting.
+ * <p>
+ * A list made by {@link #offHeap()} keeps the columns in direct byte buffers
+ * outside the Java heap instead, for catalogs large enough that the garbage
+ * collector spends much of its time on them. Only the hash table from ID to
+ * row, an int array without references, and the department dictionary stay
+ * on the heap.
+ * <p>
+ * The list keeps a copy of each added course. The courses returned by the
+ * searches are new Course objects made from the columns on each call.
+ * Calling their setters changes the stored course, which is found again by
+ * the ID of the returned course; if that course has since been deleted, the
+ * setter throws an IllegalStateException.
+ */
+public class CompactCourseList {
+	private static final Comparator<Course> BY_NAME = new Comparator<Course>() {
+		@Override
+		public int compare(Course o1, Course o2) {
+			int c = o1.getTitle().compareTo(o2.getTitle());
+			return c != 0 ? c : o1.getId().compareTo(o2.getId());
+		}
+	};
+
+	private final CourseColumns columns;
+	private final int maxCourses;
+	private final CourseOwner owner = new Owner();
+	private int[] table = new int[16];
+
+	/**
+	 * Constructs a CompactCourseList without a limit on the number of courses.
+	 */
+	public CompactCourseList() {
+		this(new HeapCourseColumns(), Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Constructs a CompactCourseList with the specified maximum number of courses.
+	 *
+	 * @param maxCourses the maximum number of courses
+	 * @throws IllegalArgumentException if maxCourses is less than or equal to 0
+	 */
+	public CompactCourseList(int maxCourses) {
+		this(new HeapCourseColumns(), maxCourses);
+	}
+
+	private CompactCourseList(CourseColumns columns, int maxCourses) {
+		if (maxCourses <= 0) {
+			throw new IllegalArgumentException("Length of the array must be greater than 0.");
+		}
+		this.columns = columns;
+		this.maxCourses = maxCourses;
+	}
+
+	/**
+	 * Creates a CompactCourseList without a limit on the number of courses
+	 * that stores its courses outside the Java heap.
+	 *
+	 * @return a new empty list
+	 */
+	public static CompactCourseList offHeap() {
+		return new CompactCourseList(new OffHeapCourseColumns(), Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Creates a CompactCourseList with the specified maximum number of courses
+	 * that stores its courses outside the Java heap.
+	 *
+	 * @param maxCourses the maximum number of courses
+	 * @return a new empty list
+	 * @throws IllegalArgumentException if maxCourses is less than or equal to 0
+	 */
+	public static CompactCourseList offHeap(int maxCourses) {
+		return new CompactCourseList(new OffHeapCourseColumns(), maxCourses);
+	}
+
+	/**
+	 * Adds a copy of a course to the list.
+	 *
+	 * @param course the course to add
+	 * @throws IllegalArgumentException if course is null or its ID is already in the list (ignoring case)
+	 * @throws IllegalStateException    if the course list is full
+	 */
+	public void addCourse(Course course) {
+		if (course == null) {
+			throw new IllegalArgumentException("The course cannot be null.");
+		}
+		if (columns.size() == maxCourses) {
+			throw new IllegalStateException("The course list is full.");
+		}
+		if (find(course.getId()) >= 0) {
+			throw new IllegalArgumentException("The course ID is duplicated.");
+		}
+		int row = columns.add(course.getId(), course.getTitle(), course.getCredit(), course.getDepartment());
+		insert(row);
+	}
+
+	/**
+	 * Returns the courses in the list.
+	 *
+	 * @return a new array with the courses in the list, or null if the list is empty
+	 */
+	public Course[] getCourse() {
+		if (columns.size() == 0) {
+			return null;
+		}
+		Course[] array = new Course[columns.size()];
+		for (int row = 0; row < array.length; row++) {
+			array[row] = view(row);
+		}
+		return array;
+	}
+
+	/**
+	 * Returns the number of courses in the list.
+	 *
+	 * @return the number of courses in the list
+	 */
+	public int size() {
+		return columns.size();
+	}
+
+	/**
+	 * Returns the maximum number of courses the list can hold.
+	 *
+	 * @return the maximum number of courses, or Integer.MAX_VALUE if the list is unbounded
+	 */
+	public int getMaxCourses() {
+		return maxCourses;
+	}
+
+	/**
+	 * Shrinks the storage to the courses in the list.
+	 */
+	public void trimToSize() {
+		columns.trimToSize();
+	}
+
+	/**
+	 * Deletes a course from the list by its ID.
+	 *
+	 * @param id the ID of the course to delete
+	 * @throws IllegalArgumentException if the course ID is null or not found
+	 */
+	public void deleteCourse(String id) {
+		if (id == null) {
+			throw new IllegalArgumentException("The course ID cannot be null.");
+		}
+		int row = find(id);
+		if (row < 0) {
+			throw new IllegalArgumentException("The course ID is not found.");
+		}
+		remove(row);
+		int last = columns.size() - 1;
+		if (row != last) {
+			table[slotOf(last)] = row + 1;
+		}
+		columns.removeSwap(row);
+	}
+
+	/**
+	 * Searches for a course by its ID.
+	 *
+	 * @param id the ID of the course to search for
+	 * @return the course with the specified ID, or null if not found
+	 * @throws IllegalArgumentException if the course ID is null
+	 */
+	public Course searchCourse(String id) {
+		if (id == null) {
+			throw new IllegalArgumentException("The course ID cannot be null.");
+		}
+		int row = find(id);
+		return row < 0 ? null : view(row);
+	}
+
+	/**
+	 * Searches for courses with titles containing a specified string, ignoring case and diacritics.
+	 *
+	 * @param title the string to search for in the course titles
+	 * @return an array of courses with titles containing the specified string, or null if none found
+	 * @throws IllegalArgumentException if the title is null
+	 */
+	public Course[] searchCourseRelatively(String title) {
+		if (title == null) {
+			throw new IllegalArgumentException("The title cannot be null.");
+		}
+		String query = CourseKeys.text(title);
+		ArrayList<Course> list = new ArrayList<>();
+		for (int row = 0; row < columns.size(); row++) {
+			if (columns.titleContains(row, query)) {
+				list.add(view(row));
+			}
+		}
+		return list.isEmpty() ? null : list.toArray(new Course[list.size()]);
+	}
+
+	/**
+	 * Searches for courses in a specified department, ignoring case and diacritics.
+	 *
+	 * @param department the department to search for
+	 * @return an array of courses in the specified department, or null if none found
+	 * @throws IllegalArgumentException if the department is null
+	 */
+	public Course[] searchDepartment(String department) {
+		if (department == null) {
+			throw new IllegalArgumentException("The department cannot be null.");
+		}
+		int group = columns.group(department);
+		if (group < 0 || columns.groupSize(group) == 0) {
+			return null;
+		}
+		Course[] array = new Course[columns.groupSize(group)];
+		for (int row = 0, n = 0; n < array.length; row++) {
+			if (columns.departmentGroup(row) == group) {
+				array[n++] = view(row);
+			}
+		}
+		return array;
+	}
+
+	/**
+	 * Sorts the courses by name.
+	 *
+	 * @return an array of courses sorted by title, and then by ID if titles are the same
+	 */
+	public Course[] sortName() {
+		Course[] array = getCourse();
+		if (array == null) {
+			return new Course[0];
+		}
+		Arrays.sort(array, BY_NAME);
+		return array;
+	}
+
+	/**
+	 * Returns one page of the courses sorted by name.
+	 *
+	 * @param offset the number of sorted courses to skip
+	 * @param limit the maximum number of courses to return
+	 * @return an array of at most limit courses sorted by title, and then by ID if titles are the same
+	 * @throws IllegalArgumentException if offset or limit is negative
+	 */
+	public Course[] sortName(int offset, int limit) {
+		if (offset < 0 || limit < 0) {
+			throw new IllegalArgumentException("The offset and limit cannot be negative.");
+		}
+		Course[] sorted = sortName();
+		int from = Math.min(offset, sorted.length);
+		return Arrays.copyOfRange(sorted, from, (int) Math.min((long) from + limit, sorted.length));
+	}
+
+	/**
+	 * Returns the courses that come after a course when sorted by name.
+	 *
+	 * @param after the course to start after; it does not have to be in the list
+	 * @param limit the maximum number of courses to return
+	 * @return an array of at most limit courses sorted by title, and then by ID if titles are the same
+	 * @throws IllegalArgumentException if after is null or limit is negative
+	 */
+	public Course[] sortNameAfter(Course after, int limit) {
+		if (after == null) {
+			throw new IllegalArgumentException("The course cannot be null.");
+		}
+		if (limit < 0) {
+			throw new IllegalArgumentException("The offset and limit cannot be negative.");
+		}
+		Course[] sorted = sortName();
+		int from = 0;
+		while (from < sorted.length && BY_NAME.compare(sorted[from], after) <= 0) {
+			from++;
+		}
+		return Arrays.copyOfRange(sorted, from, (int) Math.min((long) from + limit, sorted.length));
+	}
+
+	/**
+	 * Finds courses with the maximum number of credits.
+	 *
+	 * @return an array of courses with the highest credit value
+	 */
+	public Course[] maxCredit() {
+		int max = 0;
+		for (int row = 0; row < columns.size(); row++) {
+			max = Math.max(max, columns.credit(row));
+		}
+		return between(max, max);
+	}
+
+	/**
+	 * Finds courses with the minimum number of credits.
+	 *
+	 * @return an array of courses with the lowest credit value
+	 */
+	public Course[] minCredit() {
+		int min = Integer.MAX_VALUE;
+		for (int row = 0; row < columns.size(); row++) {
+			min = Math.min(min, columns.credit(row));
+		}
+		return between(min, min);
+	}
+
+	/**
+	 * Finds courses whose number of credits is in a range.
+	 *
+	 * @param low the lowest number of credits, inclusive
+	 * @param high the highest number of credits, inclusive
+	 * @return an array of courses sorted by credit, and then by their position in the list
+	 */
+	public Course[] between(int low, int high) {
+		ArrayList<Course> list = new ArrayList<>();
+		for (int row = 0; row < columns.size(); row++) {
+			int credit = columns.credit(row);
+			if (credit >= low && credit <= high) {
+				list.add(view(row));
+			}
+		}
+		if (low < high) {
+			list.sort(Comparator.comparingInt(Course::getCredit));
+		}
+		return list.toArray(new Course[list.size()]);
+	}
+
+	/**
+	 * Finds the courses with the most credits.
+	 *
+	 * @param k the maximum number of courses to return
+	 * @return an array of at most k courses sorted by credit in descending order,
+	 *         and then by their position in the list
+	 * @throws IllegalArgumentException if k is negative
+	 */
+	public Course[] topCredit(int k) {
+		if (k < 0) {
+			throw new IllegalArgumentException("The number of courses cannot be negative.");
+		}
+		if (k == 0 || columns.size() == 0) {
+			return new Course[0];
+		}
+		TreeMap<Integer, Integer> histogram = new TreeMap<>();
+		for (int row = 0; row < columns.size(); row++) {
+			histogram.merge(columns.credit(row), 1, Integer::sum);
+		}
+		// The lowest credit value that still reaches into the first k courses.
+		int threshold = 0;
+		int seen = 0;
+		for (Map.Entry<Integer, Integer> entry : histogram.descendingMap().entrySet()) {
+			threshold = entry.getKey();
+			seen += entry.getValue();
+			if (seen >= k) {
+				break;
+			}
+		}
+		ArrayList<Course> list = new ArrayList<>(seen);
+		for (int row = 0; row < columns.size(); row++) {
+			if (columns.credit(row) >= threshold) {
+				list.add(view(row));
+			}
+		}
+		list.sort(Comparator.comparingInt(Course::getCredit).reversed());
+		return list.subList(0, Math.min(k, list.size())).toArray(new Course[0]);
+	}
+
+	/**
+	 * Counts the number of courses in each department and returns the department with the maximum number of courses.
+	 *
+	 * @return the lower-cased department with the highest number of courses, "f" if there are multiple departments
+	 *         with the highest number, an empty string if no course has a department, or null if the list is empty
+	 */
+	public String countDepartment() {
+		if (columns.size() == 0) {
+			return null;
+		}
+		int best = -1;
+		boolean isTie = false;
+		for (int group = 0; group < columns.groupCount(); group++) {
+			int n = columns.groupSize(group);
+			if (n == 0) {
+				continue;
+			}
+			if (best < 0 || n > columns.groupSize(best)) {
+				best = group;
+				isTie = false;
+			} else if (n == columns.groupSize(best)) {
+				isTie = true;
+			}
+		}
+		if (best < 0) {
+			return "";
+		}
+		return isTie ? "f" : columns.groupName(best);
+	}
+
+	/**
+	 * Returns the number of courses in a department.
+	 *
+	 * @param department the department, compared ignoring case and diacritics
+	 * @return the number of courses in the department
+	 * @throws IllegalArgumentException if the department is null
+	 */
+	public int countDepartment(String department) {
+		if (department == null) {
+			throw new IllegalArgumentException("The department cannot be null.");
+		}
+		int group = columns.group(department);
+		return group < 0 ? 0 : columns.groupSize(group);
+	}
+
+	private Course view(int row) {
+		return new Course(columns.id(row), columns.title(row), columns.credit(row), columns.department(row), owner, row);
+	}
+
+	/**
+	 * Returns the row of a course returned by this list.
+	 *
+	 * @throws IllegalStateException if the course is no longer in the list
+	 */
+	private int rowOf(Course course) {
+		int row = find(course.getId());
+		if (row < 0) {
+			throw new IllegalStateException("The course is no longer in the list.");
+		}
+		return row;
+	}
+
+	/**
+	 * Finds the row of an ID in the hash table.
+	 *
+	 * @return the row with the ID, or -1 if not found
+	 */
+	private int find(String id) {
+		int mask = table.length - 1;
+		for (int i = CourseIdIndex.hash(id) & mask; table[i] != 0; i = (i + 1) & mask) {
+			if (columns.idEquals(table[i] - 1, id)) {
+				return table[i] - 1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the cell of the hash table that holds a row.
+	 */
+	private int slotOf(int row) {
+		int mask = table.length - 1;
+		int i = columns.idHash(row) & mask;
+		while (table[i] != row + 1) {
+			i = (i + 1) & mask;
+		}
+		return i;
+	}
+
+	private void insert(int row) {
+		if (columns.size() * 4 > table.length * 3) {
+			int[] old = table;
+			table = new int[old.length * 2];
+			for (int value : old) {
+				if (value != 0) {
+					place(value - 1);
+				}
+			}
+		}
+		place(row);
+	}
+
+	private void place(int row) {
+		int mask = table.length - 1;
+		int i = columns.idHash(row) & mask;
+		while (table[i] != 0) {
+			i = (i + 1) & mask;
+		}
+		table[i] = row + 1;
+	}
+
+	private void remove(int row) {
+		int mask = table.length - 1;
+		int hole = slotOf(row);
+		for (int j = (hole + 1) & mask; table[j] != 0; j = (j + 1) & mask) {
+			int home = columns.idHash(table[j] - 1) & mask;
+			if (((j - home) & mask) >= ((j - hole) & mask)) {
+				table[hole] = table[j];
+				hole = j;
+			}
+		}
+		table[hole] = 0;
+	}
+
+	/**
+	 * Stores the changes made through the setters of the returned courses.
+	 */
+	private final class Owner implements CourseOwner {
+		@Override
+		public void changeId(Course course, String id, String key) {
+			int row = rowOf(course);
+			int other = find(id);
+			if (other >= 0 && other != row) {
+				throw new IllegalArgumentException("The course ID is duplicated.");
+			}
+			remove(row);
+			columns.setId(row, id);
+			place(row);
+			course.slot = row;
+		}
+
+		@Override
+		public void changeTitle(Course course, String title, String key) {
+			columns.setTitle(rowOf(course), title);
+		}
+
+		@Override
+		public void changeDepartment(Course course, String department, String key) {
+			columns.setDepartment(rowOf(course), department);
+		}
+
+		@Override
+		public void changeCredit(Course course, int credit) {
+			columns.setCredit(rowOf(course), credit);
+		}
+
+		@Override
+		public void changed(Course course, CourseField field, Object oldValue, Object newValue) {
+			// The columns are already up to date, and this list has no listeners.
+		}
+	}
+}
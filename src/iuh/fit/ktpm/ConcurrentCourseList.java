@@ -0,0 +1,495 @@
+/*
+ * @ (#) ConcurrentCourseList.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * A thread-safe CourseList that can be shared by many threads.
+ * <p>
+ * Queries take the read lock of a {@link StampedLock}, so any number of
+ * threads can search at the same time; {@link #searchCourse(String)} and
+ * {@link #size()} first try an optimistic read that takes no lock at all.
+ * Adding, deleting and updating courses take the write lock, one at a time,
+ * so the check for a duplicated ID and the insert happen as a single step.
+ * <p>
+ * The courses returned by the queries are the courses of the list. Changing
+ * them through their setters from several threads is not safe; use
+ * {@link #updateCourse(String, Consumer)} instead.
+ */
+public class ConcurrentCourseList {
+	private final CourseList courses;
+	private final StampedLock lock = new StampedLock();
+
+	/**
+	 * Constructs a ConcurrentCourseList without a limit on the number of courses.
+	 */
+	public ConcurrentCourseList() {
+		courses = new CourseList();
+	}
+
+	/**
+	 * Constructs a ConcurrentCourseList with the specified maximum number of courses.
+	 *
+	 * @param maxCourses the maximum number of courses
+	 * @throws IllegalArgumentException if maxCourses is less than or equal to 0
+	 */
+	public ConcurrentCourseList(int maxCourses) {
+		courses = new CourseList(maxCourses);
+	}
+
+	/**
+	 * Adds a course to the list.
+	 *
+	 * @param course the course to add
+	 * @throws IllegalArgumentException if course is null, its ID is already in the list (ignoring case),
+	 *                                  or it already belongs to a course list
+	 * @throws IllegalStateException    if the course list is full
+	 * @see CourseList#addCourse(Course)
+	 */
+	public void addCourse(Course course) {
+		write(() -> courses.addCourse(course));
+	}
+
+	/**
+	 * Deletes a course from the list by its ID.
+	 *
+	 * @param id the ID of the course to delete
+	 * @throws IllegalArgumentException if the course ID is null or not found
+	 * @see CourseList#deleteCourse(String)
+	 */
+	public void deleteCourse(String id) {
+		write(() -> courses.deleteCourse(id));
+	}
+
+	/**
+	 * Changes a course of the list while no other thread reads or changes the list.
+	 *
+	 * @param id the ID of the course to change
+	 * @param update the change to make, for example {@code c -> c.setCredit(4)}
+	 * @throws IllegalArgumentException if the course ID or update is null, the course ID is not found,
+	 *                                  or the update throws it
+	 */
+	public void updateCourse(String id, Consumer<Course> update) {
+		if (id == null) {
+			throw new IllegalArgumentException("The course ID cannot be null.");
+		}
+		if (update == null) {
+			throw new IllegalArgumentException("The update cannot be null.");
+		}
+		write(() -> {
+			Course course = courses.findCourse(id);
+			if (course == null) {
+				throw new IllegalArgumentException("The course ID is not found.");
+			}
+			update.accept(course);
+		});
+	}
+
+	/**
+	 * Deletes the courses that match a filter, keeping the order of the others.
+	 *
+	 * @param filter the courses to delete; it must not use this list
+	 * @return the number of courses deleted
+	 * @throws IllegalArgumentException if filter is null
+	 * @see CourseList#removeIf(Predicate)
+	 */
+	public int removeIf(Predicate<? super Course> filter) {
+		return writeList(list -> list.removeIf(filter));
+	}
+
+	/**
+	 * Deletes the courses with some IDs, keeping the order of the others.
+	 *
+	 * @param ids the IDs of the courses to delete
+	 * @return the number of courses deleted
+	 * @throws IllegalArgumentException if ids is null or holds null
+	 * @see CourseList#deleteAll(Collection)
+	 */
+	public int deleteAll(Collection<String> ids) {
+		return writeList(list -> list.deleteAll(ids));
+	}
+
+	/**
+	 * Changes the courses that match a filter while no other thread reads or
+	 * changes the list.
+	 *
+	 * @param filter the courses to change; it must not use this list
+	 * @param update the change to make, for example {@code c -> c.setCredit(4)}
+	 * @return the number of courses changed
+	 * @throws IllegalArgumentException if filter or update is null, or the update throws it
+	 * @see CourseList#updateWhere(Predicate, Consumer)
+	 */
+	public int updateWhere(Predicate<? super Course> filter, Consumer<? super Course> update) {
+		return writeList(list -> list.updateWhere(filter, update));
+	}
+
+	/**
+	 * Releases the storage segments that no longer hold any course.
+	 *
+	 * @see CourseList#trimToSize()
+	 */
+	public void trimToSize() {
+		write(courses::trimToSize);
+	}
+
+	/**
+	 * Turns on the query cache of the list with room for a number of results,
+	 * or turns it off.
+	 *
+	 * @param entries the maximum number of cached results, or 0 to turn the cache off
+	 * @throws IllegalArgumentException if entries is negative
+	 * @see CourseList#setQueryCacheSize(int)
+	 */
+	public void setQueryCacheSize(int entries) {
+		write(() -> courses.setQueryCacheSize(entries));
+	}
+
+	/**
+	 * Returns the number of courses in the list.
+	 *
+	 * @return the number of courses in the list
+	 */
+	public int size() {
+		long stamp = lock.tryOptimisticRead();
+		int size = courses.size();
+		if (lock.validate(stamp)) {
+			return size;
+		}
+		return read(courses::size);
+	}
+
+	/**
+	 * Returns the maximum number of courses the list can hold.
+	 *
+	 * @return the maximum number of courses, or Integer.MAX_VALUE if the list is unbounded
+	 */
+	public int getMaxCourses() {
+		return courses.getMaxCourses();
+	}
+
+	/**
+	 * Returns the operation metrics of the list. The metrics are safe to read
+	 * without the lock of the list.
+	 *
+	 * @return the metrics of the list
+	 * @see CourseList#getMetrics()
+	 */
+	public CourseMetrics getMetrics() {
+		return courses.getMetrics();
+	}
+
+	/**
+	 * Returns the courses in the list.
+	 *
+	 * @return a new array with the courses in the list, or null if the list is empty
+	 * @see CourseList#getCourse()
+	 */
+	public Course[] getCourse() {
+		return read(courses::getCourse);
+	}
+
+	/**
+	 * Searches for a course by its ID.
+	 *
+	 * @param id the ID of the course to search for
+	 * @return the course with the specified ID, or null if not found
+	 * @throws IllegalArgumentException if the course ID is null
+	 * @see CourseList#searchCourse(String)
+	 */
+	public Course searchCourse(String id) {
+		if (id == null) {
+			throw new IllegalArgumentException("The course ID cannot be null.");
+		}
+		long start = System.nanoTime();
+		SlowCourseOperationEvent slow = courses.getMetrics().begin();
+		Course course = null;
+		boolean valid = false;
+		long stamp = lock.tryOptimisticRead();
+		if (stamp != 0L) {
+			try {
+				course = courses.findCourse(id);
+				valid = lock.validate(stamp);
+			} catch (RuntimeException e) {
+				// A writer changed the index while it was being read; read again under the lock.
+			}
+		}
+		if (!valid) {
+			course = read(() -> courses.findCourse(id));
+		}
+		courses.recordSearch(start, slow, course);
+		return course;
+	}
+
+	/**
+	 * Searches for courses with titles containing a specified string.
+	 *
+	 * @param title the string to search for in the course titles
+	 * @return an array of courses with titles containing the specified string, or null if none found
+	 * @throws IllegalArgumentException if the title is null
+	 * @see CourseList#searchCourseRelatively(String)
+	 */
+	public Course[] searchCourseRelatively(String title) {
+		return read(() -> courses.searchCourseRelatively(title));
+	}
+
+	/**
+	 * Searches for courses with titles close to a string, tolerating typos.
+	 *
+	 * @param title the words to search for in the course titles
+	 * @param maxDistance the largest number of edits allowed for a word
+	 * @param limit the maximum number of courses to return
+	 * @return a new array with the matching courses, the closest first, empty if none found
+	 * @throws IllegalArgumentException if the title is null, or maxDistance or limit is negative
+	 * @see CourseList#searchCourseFuzzy(String, int, int)
+	 */
+	public Course[] searchCourseFuzzy(String title, int maxDistance, int limit) {
+		return read(() -> courses.searchCourseFuzzy(title, maxDistance, limit));
+	}
+
+	/**
+	 * Searches for courses in a specified department.
+	 *
+	 * @param department the department to search for
+	 * @return an array of courses in the specified department, or null if none found
+	 * @throws IllegalArgumentException if the department is null
+	 * @see CourseList#searchDepartment(String)
+	 */
+	public Course[] searchDepartment(String department) {
+		return read(() -> courses.searchDepartment(department));
+	}
+
+	/**
+	 * Sorts the courses by name.
+	 *
+	 * @return an array of courses sorted by title, and then by ID if titles are the same
+	 * @see CourseList#sortName()
+	 */
+	public Course[] sortName() {
+		return read(courses::sortName);
+	}
+
+	/**
+	 * Returns one page of the courses sorted by name.
+	 *
+	 * @param offset the number of sorted courses to skip
+	 * @param limit the maximum number of courses to return
+	 * @return an array of at most limit courses sorted by title, and then by ID if titles are the same
+	 * @throws IllegalArgumentException if offset or limit is negative
+	 * @see CourseList#sortName(int, int)
+	 */
+	public Course[] sortName(int offset, int limit) {
+		return read(() -> courses.sortName(offset, limit));
+	}
+
+	/**
+	 * Returns the courses that come after a course when sorted by name.
+	 *
+	 * @param after the course to start after; it does not have to be in the list
+	 * @param limit the maximum number of courses to return
+	 * @return an array of at most limit courses sorted by title, and then by ID if titles are the same
+	 * @throws IllegalArgumentException if after is null or limit is negative
+	 * @see CourseList#sortNameAfter(Course, int)
+	 */
+	public Course[] sortNameAfter(Course after, int limit) {
+		return read(() -> courses.sortNameAfter(after, limit));
+	}
+
+	/**
+	 * Returns the first courses of the list in an order.
+	 *
+	 * @param order the order of the courses
+	 * @param k the maximum number of courses to return
+	 * @return an array of at most k courses in the order
+	 * @throws IllegalArgumentException if order is null or k is negative
+	 * @see CourseList#topK(Comparator, int)
+	 */
+	public Course[] topK(Comparator<? super Course> order, int k) {
+		return read(() -> courses.topK(order, k));
+	}
+
+	/**
+	 * Returns one page of the courses of the list sorted in an order.
+	 *
+	 * @param order the order of the courses
+	 * @param offset the number of sorted courses to skip
+	 * @param limit the maximum number of courses to return
+	 * @return an array of at most limit courses in the order
+	 * @throws IllegalArgumentException if order is null, or offset or limit is negative
+	 * @see CourseList#page(Comparator, int, int)
+	 */
+	public Course[] page(Comparator<? super Course> order, int offset, int limit) {
+		return read(() -> courses.page(order, offset, limit));
+	}
+
+	/**
+	 * Finds courses with the maximum number of credits.
+	 *
+	 * @return an array of courses with the highest credit value
+	 * @see CourseList#maxCredit()
+	 */
+	public Course[] maxCredit() {
+		return read(courses::maxCredit);
+	}
+
+	/**
+	 * Finds courses with the minimum number of credits.
+	 *
+	 * @return an array of courses with the lowest credit value
+	 * @see CourseList#minCredit()
+	 */
+	public Course[] minCredit() {
+		return read(courses::minCredit);
+	}
+
+	/**
+	 * Finds courses whose number of credits is in a range.
+	 *
+	 * @param low the lowest number of credits, inclusive
+	 * @param high the highest number of credits, inclusive
+	 * @return an array of courses sorted by credit, and then by their position in the list
+	 * @see CourseList#between(int, int)
+	 */
+	public Course[] between(int low, int high) {
+		return read(() -> courses.between(low, high));
+	}
+
+	/**
+	 * Finds the courses with the most credits.
+	 *
+	 * @param k the maximum number of courses to return
+	 * @return an array of at most k courses sorted by credit in descending order
+	 * @throws IllegalArgumentException if k is negative
+	 * @see CourseList#topCredit(int)
+	 */
+	public Course[] topCredit(int k) {
+		return read(() -> courses.topCredit(k));
+	}
+
+	/**
+	 * Returns the department with the maximum number of courses.
+	 *
+	 * @return the lower-cased department with the highest number of courses, or "f" on a tie
+	 * @see CourseList#countDepartment()
+	 */
+	public String countDepartment() {
+		return read(courses::countDepartment);
+	}
+
+	/**
+	 * Returns the number of courses in a department.
+	 *
+	 * @param department the department, compared ignoring case and diacritics
+	 * @return the number of courses in the department
+	 * @throws IllegalArgumentException if the department is null
+	 * @see CourseList#countDepartment(String)
+	 */
+	public int countDepartment(String department) {
+		return read(() -> courses.countDepartment(department));
+	}
+
+	/**
+	 * Adds a listener to the list. The listener is called under the write lock.
+	 *
+	 * @param listener the listener to add
+	 * @throws IllegalArgumentException if the listener is null
+	 * @see CourseList#addListener(CourseListener)
+	 */
+	public void addListener(CourseListener listener) {
+		write(() -> courses.addListener(listener));
+	}
+
+	/**
+	 * Removes a listener from the list.
+	 *
+	 * @param listener the listener to remove
+	 * @return true if the listener was removed, false if it was not added
+	 * @see CourseList#removeListener(CourseListener)
+	 */
+	public boolean removeListener(CourseListener listener) {
+		return writeList(list -> list.removeListener(listener));
+	}
+
+	/**
+	 * Returns the number of courses and the credits of a department.
+	 *
+	 * @param department the department, compared ignoring case and diacritics
+	 * @return the summary of the department, or null if it has no courses
+	 * @throws IllegalArgumentException if the department is null
+	 * @see CourseList#getDepartmentSummary(String)
+	 */
+	public DepartmentSummary getDepartmentSummary(String department) {
+		return read(() -> courses.getDepartmentSummary(department));
+	}
+
+	/**
+	 * Returns the summaries of all departments.
+	 *
+	 * @return a new array with a summary for each department, empty if no course has a department
+	 * @see CourseList#getDepartmentSummaries()
+	 */
+	public DepartmentSummary[] getDepartmentSummaries() {
+		return read(courses::getDepartmentSummaries);
+	}
+
+	/**
+	 * Runs a query on the wrapped list under the read lock. The query must not
+	 * change the list.
+	 *
+	 * @param query the query to run
+	 * @return the result of the query
+	 */
+	<T> T readList(Function<CourseList, T> query) {
+		return read(() -> query.apply(courses));
+	}
+
+	/**
+	 * Runs a change on the wrapped list under the write lock.
+	 *
+	 * @param update the change to run
+	 * @return the result of the change
+	 */
+	<T> T writeList(Function<CourseList, T> update) {
+		long stamp = lock.writeLock();
+		try {
+			return update.apply(courses);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	private <T> T read(Supplier<T> query) {
+		long stamp = lock.readLock();
+		try {
+			return query.get();
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	private void write(Runnable update) {
+		long stamp = lock.writeLock();
+		try {
+			update.run();
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+}
@@ -32,6 +32,22 @@ public class Course {
 	    private int credit;
 	    private String department;
 
+	    /*
+	     * The course list that currently holds this course and the position of
+	     * the course in that list; maintained by the list.
+	     */
+	    CourseOwner owner;
+	    int slot = -1;
+
+	    /*
+	     * The normalized forms of the ID, title and department that searches
+	     * match against, built by CourseKeys when the values are set. A view
+	     * built from checked values leaves them null until first used.
+	     */
+	    private String idKey;
+	    private String titleKey;
+	    private String departmentKey;
+
 	    /**
 	     * Constructs a Course with the specified ID, title, credit, and department.
 	     *
@@ -46,6 +62,28 @@ public class Course {
 	        setTitle(title);
 	        setCredit(credit);
 	        this.department = department;
+	        this.departmentKey = CourseKeys.text(department);
+	    }
+
+	    /**
+	     * Constructs a course from values that were already checked, such as a view of a
+	     * course stored by a course list or a course read from a snapshot, without
+	     * checking the values again.
+	     *
+	     * @param id the ID of the course
+	     * @param title the title of the course
+	     * @param credit the number of credits
+	     * @param department the department of the course
+	     * @param owner the list that stores the course, or null
+	     * @param slot the position of the course in the list, or -1
+	     */
+	    Course(String id, String title, int credit, String department, CourseOwner owner, int slot) {
+	        this.id = id;
+	        this.title = title;
+	        this.credit = credit;
+	        this.department = department;
+	        this.owner = owner;
+	        this.slot = slot;
 	    }
 
 	    /**
@@ -68,13 +106,82 @@ public class Course {
 	     * Sets the ID of the course.
 	     *
 	     * @param id the new ID of the course
-	     * @throws IllegalArgumentException if id is null, does not contain only letters or digits, or is less than 3 characters long
+	     * @throws IllegalArgumentException if id is null, does not contain only letters or digits, or is less than 3 characters long,
+	     *         or if the course belongs to a course list that already has another course with this ID
 	     */
 	    public void setId(String id) {
-	        if (id == null || id.trim().length() < 3 || !id.matches("[a-zA-Z0-9]+")) {
+	        if (!isValidId(id)) {
 	            throw new IllegalArgumentException("ID must have at least 3 characters and contain only letters or digits");
 	        }
+	        String key = CourseKeys.id(id);
+	        if (owner != null) {
+	            owner.changeId(this, id, key);
+	        }
+	        String old = this.id;
 	        this.id = id;
+	        this.idKey = key;
+	        if (owner != null) {
+	            owner.changed(this, CourseField.ID, old, id);
+	        }
+	    }
+
+	    /**
+	     * Checks whether a string is a valid course ID: at least 3 characters long and
+	     * made only of the letters a to z, A to Z and the digits 0 to 9.
+	     *
+	     * @param id the string to check
+	     * @return true if the string is a valid course ID
+	     */
+	    static boolean isValidId(String id) {
+	        if (id == null || id.length() < 3) {
+	            return false;
+	        }
+	        for (int i = 0; i < id.length(); i++) {
+	            char c = id.charAt(i);
+	            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9')) {
+	                return false;
+	            }
+	        }
+	        return true;
+	    }
+
+	    /**
+	     * Returns the key of the ID, with its case folded.
+	     *
+	     * @return the key of the ID
+	     */
+	    String idKey() {
+	        String key = idKey;
+	        if (key == null) {
+	            key = idKey = CourseKeys.id(id);
+	        }
+	        return key;
+	    }
+
+	    /**
+	     * Returns the key of the title, without diacritics and with its case folded.
+	     *
+	     * @return the key of the title
+	     */
+	    String titleKey() {
+	        String key = titleKey;
+	        if (key == null) {
+	            key = titleKey = CourseKeys.text(title);
+	        }
+	        return key;
+	    }
+
+	    /**
+	     * Returns the key of the department, without diacritics and with its case folded.
+	     *
+	     * @return the key of the department, or null if the course has no department
+	     */
+	    String departmentKey() {
+	        String key = departmentKey;
+	        if (key == null && department != null) {
+	            key = departmentKey = CourseKeys.text(department);
+	        }
+	        return key;
 	    }
 
 	    /**
@@ -96,7 +203,16 @@ public class Course {
 	        if (title == null || title.trim().isEmpty()) {
 	            throw new IllegalArgumentException("Title must not be empty");
 	        }
+	        String key = CourseKeys.text(title);
+	        if (owner != null) {
+	            owner.changeTitle(this, title, key);
+	        }
+	        String old = this.title;
 	        this.title = title;
+	        this.titleKey = key;
+	        if (owner != null) {
+	            owner.changed(this, CourseField.TITLE, old, title);
+	        }
 	    }
 
 	    /**
@@ -118,7 +234,14 @@ public class Course {
 	        if (credit <= 0) {
 	            throw new IllegalArgumentException("Credit must be greater than 0");
 	        }
+	        if (owner != null) {
+	            owner.changeCredit(this, credit);
+	        }
+	        int old = this.credit;
 	        this.credit = credit;
+	        if (owner != null) {
+	            owner.changed(this, CourseField.CREDIT, old, credit);
+	        }
 	    }
 
 	    /**
@@ -136,7 +259,16 @@ public class Course {
 	     * @param department the new department
 	     */
 	    public void setDepartment(String department) {
+	        String key = CourseKeys.text(department);
+	        if (owner != null) {
+	            owner.changeDepartment(this, department, key);
+	        }
+	        String old = this.department;
 	        this.department = department;
+	        this.departmentKey = key;
+	        if (owner != null) {
+	            owner.changed(this, CourseField.DEPARTMENT, old, department);
+	        }
 	    }
 	    
 	    
@@ -0,0 +1,268 @@
+/*
+ * @ (#) CourseBatch.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * Runs the operations of the {@link TestCourse} menu from a script instead of
+ * asking for them one by one.
+ * <p>
+ * Each line of the script is one command: the number of a menu option
+ * followed by its inputs, in the order the menu asks for them, separated by
+ * {@code |}. For example:
+ * <pre>
+ * 1|IT101|Lập trình Java|Công nghệ thông tin|3
+ * 5|java
+ * 3|IT101
+ * 9
+ * </pre>
+ * Blank lines and lines starting with {@code #} are skipped, inputs are
+ * trimmed, and option 0 stops the script. The menu is not printed; the
+ * messages and course tables are the same as in the menu, written through
+ * one buffered writer. A line that cannot be run is reported with its line
+ * number and the script goes on.
+ */
+public class CourseBatch {
+	private final CourseList courseList;
+	private final Writer out;
+	private final CourseRowFormatter formatter = new CourseRowFormatter();
+	private final String newLine = System.lineSeparator();
+
+	/**
+	 * Constructs a batch that runs commands on a course list.
+	 *
+	 * @param courseList the course list
+	 * @param out the writer for the output, which should be buffered
+	 * @throws IllegalArgumentException if courseList or out is null
+	 */
+	public CourseBatch(CourseList courseList, Writer out) {
+		if (courseList == null) {
+			throw new IllegalArgumentException("The course list cannot be null.");
+		}
+		if (out == null) {
+			throw new IllegalArgumentException("The writer cannot be null.");
+		}
+		this.courseList = courseList;
+		this.out = out;
+	}
+
+	/**
+	 * Runs the commands of a script until its end or option 0, then flushes the output.
+	 *
+	 * @param in the script
+	 * @return the number of commands run
+	 * @throws IOException if the script cannot be read or the output cannot be written
+	 */
+	public int run(BufferedReader in) throws IOException {
+		int commands = 0;
+		int lineNumber = 0;
+		String line;
+		String[] fields = new String[5];
+		try {
+			while ((line = in.readLine()) != null) {
+				lineNumber++;
+				line = line.trim();
+				if (line.isEmpty() || line.charAt(0) == '#') {
+					continue;
+				}
+				int n = split(line, fields);
+				if (fields[0].equals("0")) {
+					break;
+				}
+				commands++;
+				if (!run(fields, n)) {
+					println("Dòng " + lineNumber + ": Lệnh không hợp lệ: " + line);
+				}
+			}
+		} finally {
+			out.flush();
+		}
+		return commands;
+	}
+
+	/**
+	 * Runs one command.
+	 *
+	 * @return false if the option or the number of inputs is not valid
+	 */
+	private boolean run(String[] fields, int n) throws IOException {
+		switch (fields[0]) {
+			case "1":
+				if (n != 5) {
+					return false;
+				}
+				add(fields[1], fields[2], fields[3], fields[4]);
+				return true;
+			case "2":
+				if (n != 1) {
+					return false;
+				}
+				printList(courseList.getCourse(), "Danh sách khóa học trống.", true);
+				return true;
+			case "3":
+				if (n != 2) {
+					return false;
+				}
+				try {
+					courseList.deleteCourse(fields[1]);
+					println("Khóa học đã được xóa.");
+				} catch (IllegalArgumentException e) {
+					println("Lỗi: Khóa học không tồn tại.");
+				}
+				return true;
+			case "4": {
+				if (n != 2) {
+					return false;
+				}
+				Course course = courseList.searchCourse(fields[1]);
+				if (course != null) {
+					println("Khóa học tìm thấy ");
+					println(CourseRowFormatter.HEADER);
+					formatter.write(out, course);
+				} else {
+					println("Không tìm thấy khóa học với ID đã cho.");
+				}
+				return true;
+			}
+			case "5":
+				if (n != 2) {
+					return false;
+				}
+				printList(courseList.searchCourseRelatively(fields[1]),
+						"Không tìm thấy khóa học với tiêu chí đã cho.", false);
+				return true;
+			case "6":
+				if (n != 2) {
+					return false;
+				}
+				printList(courseList.searchDepartment(fields[1]),
+						"Không tìm thấy khóa học với phòng ban đã cho.", false);
+				return true;
+			case "7":
+				if (n != 1) {
+					return false;
+				}
+				printList(courseList.sortName(), "Danh sách khóa học trống.", false);
+				return true;
+			case "8":
+				if (n != 1) {
+					return false;
+				}
+				Course[] coursesByCredit = courseList.maxCredit();
+				printList(coursesByCredit.length > 0 ? coursesByCredit : null, "Danh sách khóa học trống.", false);
+				return true;
+			case "9":
+				if (n != 1) {
+					return false;
+				}
+				String departmentMax = courseList.countDepartment();
+				if (departmentMax != null && !departmentMax.isEmpty() && !departmentMax.equals("f")) {
+					println("Phòng ban có số lượng khóa học nhiều nhất là: " + departmentMax);
+				} else if (departmentMax == null) {
+					println("Danh sách khóa học trống.");
+				} else {
+					println("Không có phòng ban nào nhiều nhất chỉ có bằng nhau");
+				}
+				return true;
+			case "10":
+				if (n != 1) {
+					return false;
+				}
+				out.write(courseList.getMetrics().snapshot().toString());
+				return true;
+			case "11":
+				if (n != 1) {
+					return false;
+				}
+				DepartmentSummary[] summaries = courseList.getDepartmentSummaries();
+				if (summaries.length == 0) {
+					println("Danh sách khóa học trống.");
+					return true;
+				}
+				println(DepartmentSummary.HEADER);
+				for (DepartmentSummary summary : summaries) {
+					println(summary.toString());
+				}
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private void add(String id, String title, String department, String credit) throws IOException {
+		int value;
+		try {
+			value = Integer.parseInt(credit);
+		} catch (NumberFormatException e) {
+			println("Credit must be greater than 0");
+			return;
+		}
+		try {
+			courseList.addCourse(new Course(id, title, value, department));
+			println("Khóa học đã được thêm.");
+		} catch (IllegalArgumentException | IllegalStateException e) {
+			println(e.getMessage());
+		}
+	}
+
+	/**
+	 * Prints a table of courses, or a message if there are none.
+	 *
+	 * @param courses the courses, or null if there are none
+	 * @param empty the message printed if there are no courses
+	 * @param title whether to print the title line of the full list
+	 */
+	private void printList(Course[] courses, String empty, boolean title) throws IOException {
+		if (courses == null) {
+			println(empty);
+			return;
+		}
+		if (title) {
+			println("Danh sách khóa học: ");
+		}
+		println(CourseRowFormatter.HEADER);
+		for (Course course : courses) {
+			formatter.write(out, course);
+		}
+	}
+
+	private void println(String line) throws IOException {
+		out.write(line);
+		out.write(newLine);
+	}
+
+	/**
+	 * Splits a command into its trimmed fields.
+	 *
+	 * @return the number of fields, or fields.length + 1 if there are too many
+	 */
+	private static int split(String line, String[] fields) {
+		int n = 0;
+		int start = 0;
+		while (true) {
+			int end = line.indexOf('|', start);
+			if (n == fields.length) {
+				return n + 1;
+			}
+			fields[n++] = (end < 0 ? line.substring(start) : line.substring(start, end)).trim();
+			if (end < 0) {
+				return n;
+			}
+			start = end + 1;
+		}
+	}
+}
@@ -0,0 +1,489 @@
+/*
+ * @ (#) CourseCodec.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * Encodes batches of courses in a compact binary form, to send the courses of
+ * a list to another process or to store them, and decodes them again.
+ * <p>
+ * A batch starts with the magic number, the format version and the length of
+ * the body in bytes, as four, one and four bytes. The body is the number of
+ * courses and one record per course: the number of credits, the department,
+ * then the ID and the title. Departments are coded with a dictionary built
+ * as the batch is written: 0 stands for no department, and the code of a
+ * department that has not appeared yet, one more than the number of
+ * departments so far, is followed by its name. Numbers in the body are unsigned
+ * varints, seven bits per byte starting with the lowest, and strings are
+ * their length in bytes followed by their UTF-8 bytes. Lone surrogates are
+ * encoded as three bytes like other characters, so every string decodes to
+ * exactly the string that was encoded.
+ * <p>
+ * The batch is written in one pass over the courses. Heap buffers are read
+ * and written through their arrays without copying; a direct buffer is
+ * written from, or read into, one temporary array with a single bulk copy. Decoded courses belong to no list, and courses with the
+ * same department share one string.
+ */
+public final class CourseCodec {
+	/** The first four bytes of a batch, "CRSB". */
+	static final int MAGIC = 0x43525342;
+	/** The version of the format written by this class. */
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 9;
+
+	private CourseCodec() {
+	}
+
+	/**
+	 * Returns the number of bytes that {@link #encode(Course[], ByteBuffer)}
+	 * writes for some courses. This takes as long as encoding them.
+	 *
+	 * @param courses the courses
+	 * @return the size of the batch in bytes
+	 * @throws IllegalArgumentException if courses is null or holds null
+	 */
+	public static int encodedSize(Course[] courses) {
+		Encoder encoder = new Encoder();
+		encoder.batch(courses);
+		return encoder.length();
+	}
+
+	/**
+	 * Encodes the courses of a list into a new heap buffer, ready to be read.
+	 *
+	 * @param list the list
+	 * @return a buffer holding the batch, with its position at 0 and its limit at the end of the batch
+	 * @throws IllegalArgumentException if list is null
+	 */
+	public static ByteBuffer encode(CourseList list) {
+		if (list == null) {
+			throw new IllegalArgumentException("The course list cannot be null.");
+		}
+		Course[] courses = list.getCourse();
+		Encoder encoder = new Encoder();
+		encoder.batch(courses == null ? new Course[0] : courses);
+		return ByteBuffer.wrap(encoder.bytes, 0, encoder.length());
+	}
+
+	/**
+	 * Encodes courses as a batch at the position of a buffer, and moves the
+	 * position past the batch.
+	 *
+	 * @param courses the courses
+	 * @param out the buffer
+	 * @throws IllegalArgumentException if courses or out is null, or courses holds null
+	 * @throws BufferOverflowException if the buffer has less room than {@link #encodedSize(Course[])};
+	 *         the position is not moved then, but the bytes after it may have changed
+	 * @throws ReadOnlyBufferException if the buffer is read-only
+	 */
+	public static void encode(Course[] courses, ByteBuffer out) {
+		if (out == null) {
+			throw new IllegalArgumentException("The buffer cannot be null.");
+		}
+		if (out.isReadOnly()) {
+			throw new ReadOnlyBufferException();
+		}
+		if (out.hasArray()) {
+			int offset = out.arrayOffset();
+			Encoder encoder = new Encoder(out.array(), offset + out.position(), offset + out.limit());
+			encoder.batch(courses);
+			out.position(encoder.length() - offset);
+			return;
+		}
+		Encoder encoder = new Encoder();
+		encoder.batch(courses);
+		if (out.remaining() < encoder.length()) {
+			throw new BufferOverflowException();
+		}
+		out.put(encoder.bytes, 0, encoder.length());
+	}
+
+	/**
+	 * Decodes the batch at the position of a buffer, and moves the position
+	 * past the batch. The courses are checked as the public constructor of
+	 * {@link Course} checks them.
+	 *
+	 * @param in the buffer
+	 * @return the courses of the batch, in the order they were encoded
+	 * @throws IllegalArgumentException if in is null, or does not hold a whole and valid batch;
+	 *         the position is not moved then
+	 */
+	public static Course[] decode(ByteBuffer in) {
+		if (in == null) {
+			throw new IllegalArgumentException("The buffer cannot be null.");
+		}
+		int start = in.position();
+		if (in.remaining() < HEADER_SIZE || getInt(in, start) != MAGIC) {
+			throw new IllegalArgumentException("The buffer does not hold a course batch.");
+		}
+		if (in.get(start + 4) != VERSION) {
+			throw new IllegalArgumentException("Unsupported course batch version: " + in.get(start + 4));
+		}
+		int length = getInt(in, start + 5);
+		if (length < 0 || length > in.remaining() - HEADER_SIZE) {
+			throw corrupted();
+		}
+		Reader reader;
+		if (in.hasArray()) {
+			int offset = in.arrayOffset() + start + HEADER_SIZE;
+			reader = new Reader(in.array(), offset, offset + length);
+		} else {
+			byte[] body = new byte[length];
+			ByteBuffer copy = in.duplicate();
+			copy.position(start + HEADER_SIZE);
+			copy.get(body);
+			reader = new Reader(body, 0, length);
+		}
+		Course[] courses = reader.batch();
+		in.position(start + HEADER_SIZE + length);
+		return courses;
+	}
+
+	/**
+	 * Reads a big-endian int whatever the byte order of the buffer.
+	 */
+	private static int getInt(ByteBuffer in, int index) {
+		return (in.get(index) & 0xFF) << 24 | (in.get(index + 1) & 0xFF) << 16
+				| (in.get(index + 2) & 0xFF) << 8 | in.get(index + 3) & 0xFF;
+	}
+
+	private static IllegalArgumentException corrupted() {
+		return new IllegalArgumentException("The course batch is corrupted.");
+	}
+
+	/**
+	 * Returns the number of bytes of an unsigned varint.
+	 */
+	private static int varintSize(int value) {
+		return (31 - Integer.numberOfLeadingZeros(value | 1)) / 7 + 1;
+	}
+
+	/**
+	 * Returns the number of UTF-8 bytes of a string.
+	 */
+	private static int utf8Length(String value) {
+		int bytes = value.length();
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c < 0x80) {
+				continue;
+			}
+			if (c < 0x800) {
+				bytes += 1;
+			} else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+					&& Character.isLowSurrogate(value.charAt(i + 1))) {
+				// A surrogate pair is four bytes for its two chars.
+				bytes += 2;
+				i++;
+			} else {
+				bytes += 2;
+			}
+		}
+		return bytes;
+	}
+
+	/**
+	 * Writes batches into an array, either the array of a heap buffer up to
+	 * its limit or an array of its own that grows as needed.
+	 */
+	private static final class Encoder {
+		private byte[] bytes;
+		private int position;
+		private int limit;
+		private final boolean growable;
+		/** The department codes of the batch being written. */
+		private final Map<String, Integer> codes = new HashMap<>();
+
+		/**
+		 * Constructs an encoder that writes into an array of its own.
+		 */
+		Encoder() {
+			this(new byte[1 << 12], 0, 1 << 12, true);
+		}
+
+		/**
+		 * Constructs an encoder that writes into a range of an array.
+		 */
+		Encoder(byte[] bytes, int position, int limit) {
+			this(bytes, position, limit, false);
+		}
+
+		private Encoder(byte[] bytes, int position, int limit, boolean growable) {
+			this.bytes = bytes;
+			this.position = position;
+			this.limit = limit;
+			this.growable = growable;
+		}
+
+		/**
+		 * Writes a batch of courses: the header, whose length is filled in at
+		 * the end, then the count and the records.
+		 */
+		void batch(Course[] courses) {
+			if (courses == null) {
+				throw new IllegalArgumentException("The courses cannot be null.");
+			}
+			codes.clear();
+			int start = position;
+			room(HEADER_SIZE + 5);
+			putInt(MAGIC);
+			put(VERSION);
+			position += 4;
+			putVarint(courses.length);
+			for (Course course : courses) {
+				if (course == null) {
+					throw new IllegalArgumentException("The course cannot be null.");
+				}
+				room(10);
+				putVarint(course.getCredit());
+				String department = course.getDepartment();
+				if (department == null) {
+					put(0);
+				} else {
+					Integer code = codes.get(department);
+					if (code == null) {
+						putVarint(codes.size() + 1);
+						putString(department);
+						codes.put(department, codes.size() + 1);
+					} else {
+						putVarint(code);
+					}
+				}
+				putString(course.getId());
+				putString(course.getTitle());
+			}
+			int length = position - start - HEADER_SIZE;
+			position = start + 5;
+			putInt(length);
+			position = start + HEADER_SIZE + length;
+		}
+
+		int length() {
+			return position;
+		}
+
+		/**
+		 * Makes room for n more bytes.
+		 *
+		 * @throws BufferOverflowException if the array is not growable and too small
+		 */
+		private void room(int n) {
+			if (position + n <= limit) {
+				return;
+			}
+			if (!growable) {
+				throw new BufferOverflowException();
+			}
+			if (position + n < 0) {
+				throw new IllegalArgumentException("The courses are too large for one batch.");
+			}
+			bytes = Arrays.copyOf(bytes, (int) Math.min(Integer.MAX_VALUE - 8,
+					Math.max(position + n, 2L * bytes.length)));
+			limit = bytes.length;
+		}
+
+		private void put(int b) {
+			bytes[position++] = (byte) b;
+		}
+
+		private void putInt(int value) {
+			put(value >>> 24);
+			put(value >>> 16);
+			put(value >>> 8);
+			put(value);
+		}
+
+		private void putVarint(int value) {
+			while ((value & ~0x7F) != 0) {
+				put(value & 0x7F | 0x80);
+				value >>>= 7;
+			}
+			put(value);
+		}
+
+		/**
+		 * Writes the length and the UTF-8 bytes of a string. A string of fewer
+		 * than 43 chars has fewer than 128 bytes, so its length takes one byte
+		 * that is filled in after its bytes; a longer one is measured first.
+		 */
+		private void putString(String value) {
+			int length = value.length();
+			if (length < 43 && position + 1 + 3 * length <= limit) {
+				int start = position++;
+				putChars(value, length);
+				bytes[start] = (byte) (position - start - 1);
+				return;
+			}
+			int utf8 = utf8Length(value);
+			room(varintSize(utf8) + utf8);
+			putVarint(utf8);
+			putChars(value, length);
+		}
+
+		private void putChars(String value, int length) {
+			byte[] bytes = this.bytes;
+			int position = this.position;
+			for (int i = 0; i < length; i++) {
+				char c = value.charAt(i);
+				if (c < 0x80) {
+					bytes[position++] = (byte) c;
+				} else if (c < 0x800) {
+					bytes[position++] = (byte) (0xC0 | c >> 6);
+					bytes[position++] = (byte) (0x80 | c & 0x3F);
+				} else if (Character.isHighSurrogate(c) && i + 1 < length
+						&& Character.isLowSurrogate(value.charAt(i + 1))) {
+					int code = Character.toCodePoint(c, value.charAt(++i));
+					bytes[position++] = (byte) (0xF0 | code >> 18);
+					bytes[position++] = (byte) (0x80 | code >> 12 & 0x3F);
+					bytes[position++] = (byte) (0x80 | code >> 6 & 0x3F);
+					bytes[position++] = (byte) (0x80 | code & 0x3F);
+				} else {
+					bytes[position++] = (byte) (0xE0 | c >> 12);
+					bytes[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+					bytes[position++] = (byte) (0x80 | c & 0x3F);
+				}
+			}
+			this.position = position;
+		}
+	}
+
+	/**
+	 * Reads the body of a batch from a range of an array, checking every
+	 * length against the end of the range.
+	 */
+	private static final class Reader {
+		private final byte[] bytes;
+		private final int end;
+		private int position;
+		private char[] chars = new char[64];
+
+		Reader(byte[] bytes, int position, int end) {
+			this.bytes = bytes;
+			this.position = position;
+			this.end = end;
+		}
+
+		Course[] batch() {
+			int count = getVarint();
+			// Each course takes at least 8 bytes.
+			if (count < 0 || count > (end - position) / 8) {
+				throw corrupted();
+			}
+			Course[] courses = new Course[count];
+			String[] dictionary = new String[8];
+			int words = 0;
+			for (int i = 0; i < count; i++) {
+				int credit = getVarint();
+				int code = getVarint();
+				String department = null;
+				if (code == words + 1) {
+					if (words == dictionary.length) {
+						dictionary = Arrays.copyOf(dictionary, words * 2);
+					}
+					department = dictionary[words++] = getString();
+				} else if (code > 0 && code <= words) {
+					department = dictionary[code - 1];
+				} else if (code != 0) {
+					throw corrupted();
+				}
+				String id = getString();
+				String title = getString();
+				if (credit <= 0 || !Course.isValidId(id) || title.trim().isEmpty()) {
+					throw corrupted();
+				}
+				courses[i] = new Course(id, title, credit, department, null, -1);
+			}
+			if (position != end) {
+				throw corrupted();
+			}
+			return courses;
+		}
+
+		private int getVarint() {
+			int value = 0;
+			for (int shift = 0; shift < 35; shift += 7) {
+				if (position == end) {
+					throw corrupted();
+				}
+				byte b = bytes[position++];
+				value |= (b & 0x7F) << shift;
+				if (b >= 0) {
+					return value;
+				}
+			}
+			throw corrupted();
+		}
+
+		private String getString() {
+			int length = getVarint();
+			if (length < 0 || length > end - position) {
+				throw corrupted();
+			}
+			int start = position;
+			int stop = start + length;
+			int i = start;
+			while (i < stop && bytes[i] >= 0) {
+				i++;
+			}
+			position = stop;
+			if (i == stop) {
+				return new String(bytes, start, length, StandardCharsets.ISO_8859_1);
+			}
+			if (chars.length < length) {
+				chars = new char[Math.max(length, chars.length * 2)];
+			}
+			int n = 0;
+			for (int j = start; j < i; j++) {
+				chars[n++] = (char) bytes[j];
+			}
+			while (i < stop) {
+				int b = bytes[i++];
+				if (b >= 0) {
+					chars[n++] = (char) b;
+				} else if ((b & 0xE0) == 0xC0) {
+					chars[n++] = (char) ((b & 0x1F) << 6 | next(i++, stop));
+				} else if ((b & 0xF0) == 0xE0) {
+					chars[n++] = (char) ((b & 0x0F) << 12 | next(i++, stop) << 6 | next(i++, stop));
+				} else if ((b & 0xF8) == 0xF0) {
+					int code = (b & 0x07) << 18 | next(i++, stop) << 12 | next(i++, stop) << 6 | next(i++, stop);
+					if (code < Character.MIN_SUPPLEMENTARY_CODE_POINT || code > Character.MAX_CODE_POINT) {
+						throw corrupted();
+					}
+					chars[n++] = Character.highSurrogate(code);
+					chars[n++] = Character.lowSurrogate(code);
+				} else {
+					throw corrupted();
+				}
+			}
+			return new String(chars, 0, n);
+		}
+
+		/**
+		 * Returns the six bits of a continuation byte.
+		 */
+		private int next(int i, int stop) {
+			if (i >= stop || (bytes[i] & 0xC0) != 0x80) {
+				throw corrupted();
+			}
+			return bytes[i] & 0x3F;
+		}
+	}
+}
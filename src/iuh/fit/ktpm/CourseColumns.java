@@ -0,0 +1,216 @@
+/*
+ * @ (#) CourseColumns.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * The courses of a {@link CompactCourseList} stored as columns.
+ * <p>
+ * A row is a course. Subclasses decide where the IDs, titles, credits and
+ * department codes of the rows are kept; removing a row moves the last row
+ * into its place. Departments are dictionary-encoded here: each distinct
+ * department string gets a code, and each code belongs to the group of
+ * departments that have the same key (see {@link CourseKeys}), named by the
+ * first of them seen. The dictionary only grows with the number of distinct
+ * departments, so it stays on the Java heap.
+ */
+abstract class CourseColumns {
+	private final HashMap<String, Integer> departmentCodes = new HashMap<>();
+	private String[] departmentNames = new String[8];
+	private int[] departmentGroups = new int[8];
+	private int departmentCount;
+	private final HashMap<String, Integer> groupCodes = new HashMap<>();
+	private String[] groupNames = new String[8];
+	private int[] groupCounts = new int[8];
+	private int groupCount;
+
+	/**
+	 * Returns the number of rows.
+	 *
+	 * @return the number of rows
+	 */
+	abstract int size();
+
+	/**
+	 * Appends a row. The values must already be valid for a course.
+	 *
+	 * @param id the ID of the course
+	 * @param title the title of the course
+	 * @param credit the number of credits of the course
+	 * @param department the department of the course, may be null
+	 * @return the new row
+	 */
+	abstract int add(String id, String title, int credit, String department);
+
+	/**
+	 * Removes a row and moves the last row into its place.
+	 *
+	 * @param row the row to remove
+	 */
+	abstract void removeSwap(int row);
+
+	abstract String id(int row);
+
+	abstract String title(int row);
+
+	abstract int credit(int row);
+
+	/**
+	 * Returns the department code of a row.
+	 *
+	 * @param row the row
+	 * @return the code of the department of the row, or -1 if it has none
+	 */
+	abstract int departmentCode(int row);
+
+	abstract void setId(int row, String id);
+
+	abstract void setTitle(int row, String title);
+
+	abstract void setCredit(int row, int credit);
+
+	abstract void setDepartmentCode(int row, int code);
+
+	/**
+	 * Hashes the ID of a row the same way as {@link CourseIdIndex#hash(String)}.
+	 *
+	 * @param row the row
+	 * @return the case-insensitive hash of the ID of the row
+	 */
+	abstract int idHash(int row);
+
+	/**
+	 * Checks whether the ID of a row equals an ID, ignoring case.
+	 *
+	 * @param row the row
+	 * @param id the ID to compare with
+	 * @return true if the IDs are equal ignoring case
+	 */
+	abstract boolean idEquals(int row, String id);
+
+	/**
+	 * Checks whether the title key of a row contains a query. The title is
+	 * folded one character at a time with {@link CourseKeys#fold(char)}, so no
+	 * key is built.
+	 *
+	 * @param row the row
+	 * @param query the key of the query
+	 * @return true if the title key of the row contains the query
+	 */
+	abstract boolean titleContains(int row, String query);
+
+	/**
+	 * Releases the storage that the rows do not use.
+	 */
+	abstract void trimToSize();
+
+	String department(int row) {
+		int code = departmentCode(row);
+		return code < 0 ? null : departmentNames[code];
+	}
+
+	void setDepartment(int row, String department) {
+		int code = encode(department);
+		release(departmentCode(row));
+		setDepartmentCode(row, code);
+	}
+
+	/**
+	 * Returns the group of departments with the same key as a department.
+	 *
+	 * @param department the department
+	 * @return the group of the department, or -1 if no row has this department
+	 */
+	int group(String department) {
+		Integer group = groupCodes.get(CourseKeys.text(department));
+		return group == null ? -1 : group;
+	}
+
+	/**
+	 * Returns the department group of a row.
+	 *
+	 * @param row the row
+	 * @return the department group of the row, or -1 if the row has no department
+	 */
+	int departmentGroup(int row) {
+		int code = departmentCode(row);
+		return code < 0 ? -1 : departmentGroups[code];
+	}
+
+	int groupCount() {
+		return groupCount;
+	}
+
+	String groupName(int group) {
+		return groupNames[group];
+	}
+
+	int groupSize(int group) {
+		return groupCounts[group];
+	}
+
+	/**
+	 * Returns the code of a department for a new row, and counts the row in
+	 * the group of the department.
+	 *
+	 * @param department the department, may be null
+	 * @return the code of the department, or -1 if it is null
+	 */
+	final int encode(String department) {
+		if (department == null) {
+			return -1;
+		}
+		Integer code = departmentCodes.get(department);
+		if (code == null) {
+			code = departmentCount++;
+			if (code == departmentNames.length) {
+				departmentNames = Arrays.copyOf(departmentNames, code * 2);
+				departmentGroups = Arrays.copyOf(departmentGroups, code * 2);
+			}
+			departmentNames[code] = department;
+			departmentGroups[code] = groupOf(CourseKeys.text(department), department);
+			departmentCodes.put(department, code);
+		}
+		groupCounts[departmentGroups[code]]++;
+		return code;
+	}
+
+	/**
+	 * Stops counting a removed row in the group of its department.
+	 *
+	 * @param code the code of the department of the row, or -1
+	 */
+	final void release(int code) {
+		if (code >= 0) {
+			groupCounts[departmentGroups[code]]--;
+		}
+	}
+
+	private int groupOf(String key, String department) {
+		Integer group = groupCodes.get(key);
+		if (group == null) {
+			group = groupCount++;
+			if (group == groupNames.length) {
+				groupNames = Arrays.copyOf(groupNames, group * 2);
+				groupCounts = Arrays.copyOf(groupCounts, group * 2);
+			}
+			groupNames[group] = department.toLowerCase(Locale.ROOT);
+			groupCodes.put(key, group);
+		}
+		return group;
+	}
+}
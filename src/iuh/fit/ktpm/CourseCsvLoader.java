@@ -0,0 +1,286 @@
+/*
+ * @ (#) CourseCsvLoader.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * Loads courses in bulk from CSV text with the columns
+ * {@code id,title,credit,department}.
+ * <p>
+ * The input is read line by line, so files of any size can be loaded. A
+ * first line whose first column is {@code id} is taken as a header and
+ * skipped, and blank lines are ignored. Fields may be quoted with double
+ * quotes, with {@code ""} standing for a quote inside a quoted field; a
+ * record cannot span several lines. Unquoted fields are trimmed.
+ * <p>
+ * Each row is checked before a Course is created, and a row that is invalid
+ * or whose ID is already in the list is recorded in the report and skipped
+ * while the rest of the input is still loaded. Courses are added in batches,
+ * so a {@link ConcurrentCourseList} takes its write lock once per batch.
+ */
+public class CourseCsvLoader {
+	/** The number of courses added to the list at a time by default. */
+	public static final int DEFAULT_BATCH_SIZE = 4096;
+
+	private static final int COLUMNS = 4;
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final int batchSize;
+
+	/**
+	 * Constructs a loader that adds courses in batches of {@link #DEFAULT_BATCH_SIZE}.
+	 */
+	public CourseCsvLoader() {
+		this(DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Constructs a loader that adds courses in batches of the specified size.
+	 *
+	 * @param batchSize the number of courses added to the list at a time
+	 * @throws IllegalArgumentException if batchSize is less than or equal to 0
+	 */
+	public CourseCsvLoader(int batchSize) {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("The batch size must be greater than 0.");
+		}
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Loads the courses of a UTF-8 CSV file into a list.
+	 *
+	 * @param file the CSV file
+	 * @param list the list to add the courses to
+	 * @return the report of the load
+	 * @throws IOException if the file cannot be read
+	 * @throws IllegalArgumentException if file or list is null
+	 */
+	public CourseCsvReport load(Path file, CourseList list) throws IOException {
+		if (file == null) {
+			throw new IllegalArgumentException("The file cannot be null.");
+		}
+		try (Reader in = new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8)) {
+			return load(in, list);
+		}
+	}
+
+	/**
+	 * Loads the courses of CSV text into a list.
+	 *
+	 * @param in the CSV text; it is not closed
+	 * @param list the list to add the courses to
+	 * @return the report of the load
+	 * @throws IOException if the text cannot be read
+	 * @throws IllegalArgumentException if in or list is null
+	 */
+	public CourseCsvReport load(Reader in, CourseList list) throws IOException {
+		if (list == null) {
+			throw new IllegalArgumentException("The course list cannot be null.");
+		}
+		return load(in, (batch, lines, size, report) -> addBatch(list, batch, lines, size, report));
+	}
+
+	/**
+	 * Loads the courses of CSV text into a list shared between threads.
+	 *
+	 * @param in the CSV text; it is not closed
+	 * @param list the list to add the courses to
+	 * @return the report of the load
+	 * @throws IOException if the text cannot be read
+	 * @throws IllegalArgumentException if in or list is null
+	 */
+	public CourseCsvReport load(Reader in, ConcurrentCourseList list) throws IOException {
+		if (list == null) {
+			throw new IllegalArgumentException("The course list cannot be null.");
+		}
+		return load(in, (batch, lines, size, report) ->
+				list.writeList(courses -> addBatch(courses, batch, lines, size, report)));
+	}
+
+	private CourseCsvReport load(Reader in, Target target) throws IOException {
+		if (in == null) {
+			throw new IllegalArgumentException("The input cannot be null.");
+		}
+		BufferedReader reader = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in, BUFFER_SIZE);
+		CourseCsvReport report = new CourseCsvReport();
+		Course[] batch = new Course[batchSize];
+		long[] lines = new long[batchSize];
+		String[] fields = new String[COLUMNS];
+		int size = 0;
+		long lineNumber = 0;
+		boolean first = true;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			if (line.trim().isEmpty()) {
+				continue;
+			}
+			int columns = split(line, fields);
+			if (first) {
+				first = false;
+				if (fields[0].equalsIgnoreCase("id")) {
+					continue;
+				}
+			}
+			report.rowRead();
+			Course course = parse(fields, columns, lineNumber, report);
+			if (course == null) {
+				continue;
+			}
+			batch[size] = course;
+			lines[size] = lineNumber;
+			if (++size == batchSize) {
+				if (!target.add(batch, lines, size, report)) {
+					return report;
+				}
+				size = 0;
+			}
+		}
+		if (size > 0) {
+			target.add(batch, lines, size, report);
+		}
+		return report;
+	}
+
+	private static Course parse(String[] fields, int columns, long line, CourseCsvReport report) {
+		if (columns != COLUMNS) {
+			report.reject(line, "Expected " + COLUMNS + " columns but found " + columns);
+			return null;
+		}
+		if (!Course.isValidId(fields[0])) {
+			report.reject(line, "ID must have at least 3 characters and contain only letters or digits");
+			return null;
+		}
+		if (fields[1].trim().isEmpty()) {
+			report.reject(line, "Title must not be empty");
+			return null;
+		}
+		int credit = parseCredit(fields[2]);
+		if (credit <= 0) {
+			report.reject(line, "Credit must be greater than 0");
+			return null;
+		}
+		return new Course(fields[0], fields[1], credit, fields[3]);
+	}
+
+	/**
+	 * Adds a batch of courses to a list, rejecting the courses whose ID is already there.
+	 *
+	 * @return false if the list became full
+	 */
+	private static boolean addBatch(CourseList list, Course[] batch, long[] lines, int size, CourseCsvReport report) {
+		for (int i = 0; i < size; i++) {
+			try {
+				if (list.addIfAbsent(batch[i])) {
+					report.courseLoaded();
+				} else {
+					report.reject(lines[i], "The course ID is duplicated.");
+				}
+			} catch (IllegalStateException e) {
+				report.reject(lines[i], e.getMessage());
+				report.stop();
+				return false;
+			} finally {
+				batch[i] = null;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Parses a positive number of credits without creating an exception for bad input.
+	 *
+	 * @return the number of credits, or -1 if the field is not a positive integer
+	 */
+	private static int parseCredit(String field) {
+		if (field.isEmpty() || field.length() > 9) {
+			return -1;
+		}
+		int value = 0;
+		for (int i = 0; i < field.length(); i++) {
+			char c = field.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			value = value * 10 + (c - '0');
+		}
+		return value;
+	}
+
+	/**
+	 * Splits a CSV line into fields.
+	 *
+	 * @param line the line to split
+	 * @param fields receives the first fields of the line
+	 * @return the number of fields in the line, which may be more than fields.length
+	 */
+	static int split(String line, String[] fields) {
+		int columns = 0;
+		int i = 0;
+		int n = line.length();
+		while (true) {
+			String field;
+			while (i < n && line.charAt(i) == ' ') {
+				i++;
+			}
+			if (i < n && line.charAt(i) == '"') {
+				StringBuilder sb = new StringBuilder();
+				i++;
+				while (i < n) {
+					char c = line.charAt(i++);
+					if (c == '"') {
+						if (i < n && line.charAt(i) == '"') {
+							sb.append('"');
+							i++;
+						} else {
+							break;
+						}
+					} else {
+						sb.append(c);
+					}
+				}
+				field = sb.toString();
+				while (i < n && line.charAt(i) != ',') {
+					i++;
+				}
+			} else {
+				int start = i;
+				while (i < n && line.charAt(i) != ',') {
+					i++;
+				}
+				field = line.substring(start, i).trim();
+			}
+			if (columns < fields.length) {
+				fields[columns] = field;
+			}
+			columns++;
+			if (i >= n) {
+				return columns;
+			}
+			i++;
+		}
+	}
+
+	private interface Target {
+		boolean add(Course[] batch, long[] lines, int size, CourseCsvReport report);
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * @ (#) CourseCsvReport.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * The outcome of loading courses from a CSV file: how many rows were read,
+ * loaded and rejected, and why rows were rejected.
+ * <p>
+ * Only the first {@link #MAX_ERRORS} error messages are kept; every rejected
+ * row is still counted.
+ */
+public class CourseCsvReport {
+	/** The maximum number of error messages kept in a report. */
+	public static final int MAX_ERRORS = 1000;
+
+	private long rows;
+	private long loaded;
+	private long rejected;
+	private boolean complete = true;
+	private final List<String> errors = new ArrayList<>();
+
+	/**
+	 * Returns the number of data rows read, not counting the header and blank lines.
+	 *
+	 * @return the number of rows read
+	 */
+	public long getRows() {
+		return rows;
+	}
+
+	/**
+	 * Returns the number of courses added to the list.
+	 *
+	 * @return the number of courses loaded
+	 */
+	public long getLoaded() {
+		return loaded;
+	}
+
+	/**
+	 * Returns the number of rows that were not added to the list.
+	 *
+	 * @return the number of rows rejected
+	 */
+	public long getRejected() {
+		return rejected;
+	}
+
+	/**
+	 * Returns whether the whole file was read. Loading stops early only when the
+	 * course list becomes full.
+	 *
+	 * @return true if every row of the file was read
+	 */
+	public boolean isComplete() {
+		return complete;
+	}
+
+	/**
+	 * Returns the error messages, each starting with the line number of the rejected row.
+	 *
+	 * @return the first {@link #MAX_ERRORS} error messages
+	 */
+	public List<String> getErrors() {
+		return Collections.unmodifiableList(errors);
+	}
+
+	void rowRead() {
+		rows++;
+	}
+
+	void courseLoaded() {
+		loaded++;
+	}
+
+	void reject(long line, String message) {
+		rejected++;
+		if (errors.size() < MAX_ERRORS) {
+			errors.add("Line " + line + ": " + message);
+		}
+	}
+
+	void stop() {
+		complete = false;
+	}
+
+	/**
+	 * Returns a one-line summary of the report.
+	 *
+	 * @return a summary of the report
+	 */
+	@Override
+	public String toString() {
+		return "Loaded " + loaded + " of " + rows + " rows, " + rejected + " rejected"
+				+ (complete ? "" : ", stopped because the course list is full");
+	}
+}
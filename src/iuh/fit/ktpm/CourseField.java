@@ -0,0 +1,29 @@
+/*
+ * @ (#) CourseField.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * The fields of a {@link Course} that can change while it is in a course list,
+ * as reported to a {@link CourseListener}.
+ */
+public enum CourseField {
+	/** The ID, a String. */
+	ID,
+	/** The title, a String. */
+	TITLE,
+	/** The number of credits, an Integer. */
+	CREDIT,
+	/** The department, a String that may be null. */
+	DEPARTMENT
+}
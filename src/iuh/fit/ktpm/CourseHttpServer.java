@@ -0,0 +1,433 @@
+/*
+ * @ (#) CourseHttpServer.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * A small HTTP server that answers JSON queries on a {@link ConcurrentCourseList}.
+ * <p>
+ * The endpoints are:
+ * <ul>
+ * <li>{@code POST /courses} with a course object: adds the course (201)</li>
+ * <li>{@code GET /courses/{id}}: the course with the ID (200, or 404)</li>
+ * <li>{@code DELETE /courses/{id}}: deletes the course with the ID (204, or 404)</li>
+ * <li>{@code GET /search?title=...&department=...&minCredit=...&maxCredit=...}: the courses
+ *     whose title contains the text, of the department and with credits in the range,
+ *     in list order; any of the parameters may be left out, but not all</li>
+ * <li>{@code GET /sorted?offset=0&limit=100}: the courses sorted by title and then ID</li>
+ * <li>{@code GET /max-credit}: the courses with the most credits</li>
+ * <li>{@code GET /top-department}: {@code {"department":...}}, null if the list is empty,
+ *     no course has a department, or several departments have the most courses</li>
+ * </ul>
+ * A course is {@code {"id":...,"title":...,"credit":...,"department":...}}.
+ * Invalid requests get 400 with {@code {"error":...}}, a duplicated ID or
+ * a full list 409, and an unknown course 404. The array of
+ * {@code /max-credit} is in no particular order.
+ * <p>
+ * Responses are encoded straight from the indexes of the list into a
+ * buffer taken from a small shared pool, under the read lock of the list,
+ * without building Course arrays; the buffer is sent after the lock is
+ * released, so slow clients do not hold back writers, and then returned to
+ * the pool unless it grew large. Each request runs on its own virtual thread
+ * when the JDK has them (Java 21 and later), and on a cached pool of
+ * platform threads otherwise.
+ * <p>
+ * Without TCP_NODELAY, the separate writes of the headers and the body of a
+ * response meet delayed acknowledgements and each request waits about 40 ms.
+ * The JDK server only turns it on when the system property
+ * {@code sun.net.httpserver.nodelay} is true as it first starts a server, so
+ * {@link #main(String[])} sets it; an application that embeds this server
+ * should launch the JVM with {@code -Dsun.net.httpserver.nodelay=true}.
+ */
+public class CourseHttpServer {
+	/** The default number of courses returned by {@code /sorted}. */
+	public static final int DEFAULT_LIMIT = 100;
+
+	private static final int MAX_BODY = 1 << 16;
+	private static final int POOLED_ENCODERS = 16;
+	private static final int MAX_POOLED_BYTES = 1 << 16;
+	private static final ArrayBlockingQueue<CourseJson> ENCODERS = new ArrayBlockingQueue<>(POOLED_ENCODERS);
+
+	private final ConcurrentCourseList courses;
+	private final HttpServer server;
+	private final ExecutorService executor;
+
+	/**
+	 * Constructs a server for a list, bound to a port of the loopback address.
+	 * The server does not answer requests until it is started.
+	 *
+	 * @param courses the course list
+	 * @param port the port, or 0 for any free port
+	 * @throws IOException if the port cannot be bound
+	 * @throws IllegalArgumentException if courses is null
+	 */
+	public CourseHttpServer(ConcurrentCourseList courses, int port) throws IOException {
+		this(courses, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+	}
+
+	/**
+	 * Constructs a server for a list, bound to an address.
+	 *
+	 * @param courses the course list
+	 * @param address the address
+	 * @throws IOException if the address cannot be bound
+	 * @throws IllegalArgumentException if courses or address is null
+	 */
+	public CourseHttpServer(ConcurrentCourseList courses, InetSocketAddress address) throws IOException {
+		if (courses == null) {
+			throw new IllegalArgumentException("The course list cannot be null.");
+		}
+		if (address == null) {
+			throw new IllegalArgumentException("The address cannot be null.");
+		}
+		this.courses = courses;
+		this.server = HttpServer.create(address, 0);
+		this.executor = newExecutor();
+		server.setExecutor(executor);
+		server.createContext("/courses", this::handleCourses);
+		server.createContext("/search", this::handleSearch);
+		server.createContext("/sorted", this::handleSorted);
+		server.createContext("/max-credit", this::handleMaxCredit);
+		server.createContext("/top-department", this::handleTopDepartment);
+	}
+
+	/**
+	 * Starts answering requests.
+	 */
+	public void start() {
+		server.start();
+	}
+
+	/**
+	 * Stops the server, waiting at most a second for the requests being answered.
+	 */
+	public void stop() {
+		server.stop(1);
+		executor.shutdown();
+	}
+
+	/**
+	 * Returns the port the server is bound to.
+	 *
+	 * @return the port
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Starts a server on the loopback address.
+	 *
+	 * @param args the port (8080 by default), and optionally a CSV file of courses to load
+	 * @throws IOException if the port cannot be bound or the file cannot be read
+	 */
+	public static void main(String[] args) throws IOException {
+		enableNoDelay();
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+		ConcurrentCourseList courses = new ConcurrentCourseList();
+		if (args.length > 1) {
+			try (Reader reader = Files.newBufferedReader(Paths.get(args[1]), StandardCharsets.UTF_8)) {
+				System.out.println(new CourseCsvLoader().load(reader, courses));
+			}
+		}
+		CourseHttpServer server = new CourseHttpServer(courses, port);
+		server.start();
+		System.out.println("Listening on http://localhost:" + server.getPort() + "/");
+	}
+
+	/**
+	 * Turns on TCP_NODELAY for the JDK HTTP servers of this JVM, unless the
+	 * property is already set. This only has an effect before the first
+	 * server of the JVM is created.
+	 */
+	static void enableNoDelay() {
+		if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+		}
+	}
+
+	private void handleCourses(HttpExchange exchange) throws IOException {
+		try {
+			String path = exchange.getRequestURI().getRawPath();
+			String method = exchange.getRequestMethod();
+			if (path.equals("/courses") || path.equals("/courses/")) {
+				if (!method.equals("POST")) {
+					sendError(exchange, 405, "Use POST to add a course.");
+					return;
+				}
+				add(exchange);
+				return;
+			}
+			if (!path.startsWith("/courses/")) {
+				sendError(exchange, 404, "Not found.");
+				return;
+			}
+			String id = decode(path.substring("/courses/".length()));
+			if (method.equals("GET")) {
+				CourseJson json = courses.readList(list -> {
+					Course course = list.searchCourse(id);
+					return course == null ? null : encoder().course(course);
+				});
+				if (json == null) {
+					sendError(exchange, 404, "The course ID is not found.");
+				} else {
+					send(exchange, 200, json);
+				}
+			} else if (method.equals("DELETE")) {
+				courses.deleteCourse(id);
+				exchange.sendResponseHeaders(204, -1);
+			} else {
+				sendError(exchange, 405, "Use GET or DELETE on a course.");
+			}
+		} catch (IllegalArgumentException e) {
+			sendError(exchange, status(e.getMessage()), e.getMessage());
+		} catch (IllegalStateException e) {
+			sendError(exchange, 409, e.getMessage());
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private void add(HttpExchange exchange) throws IOException {
+		Map<String, Object> members = CourseJson.parseObject(readBody(exchange));
+		Object id = members.get("id");
+		Object title = members.get("title");
+		Object credit = members.get("credit");
+		Object department = members.get("department");
+		if (!(id instanceof String) || !(title instanceof String) || !(credit instanceof Integer)
+				|| department != null && !(department instanceof String)) {
+			throw new IllegalArgumentException("A course needs a string id and title and an integer credit.");
+		}
+		Course course = new Course((String) id, (String) title, (Integer) credit, (String) department);
+		courses.addCourse(course);
+		send(exchange, 201, encoder().course(course));
+	}
+
+	private void handleSearch(HttpExchange exchange) throws IOException {
+		try {
+			if (!checkGet(exchange)) {
+				return;
+			}
+			Map<String, String> query = query(exchange);
+			String title = query.get("title");
+			String department = query.get("department");
+			String minCredit = query.get("minCredit");
+			String maxCredit = query.get("maxCredit");
+			if (title == null && department == null && minCredit == null && maxCredit == null) {
+				sendError(exchange, 400, "Give a title, a department or a credit range.");
+				return;
+			}
+			int low;
+			int high;
+			try {
+				low = minCredit == null ? Integer.MIN_VALUE : Integer.parseInt(minCredit);
+				high = maxCredit == null ? Integer.MAX_VALUE : Integer.parseInt(maxCredit);
+			} catch (NumberFormatException e) {
+				sendError(exchange, 400, "The credits must be integers.");
+				return;
+			}
+			CourseJson json = courses.readList(list -> {
+				CourseQuery search = list.query();
+				if (title != null) {
+					search.titleContains(title);
+				}
+				if (department != null) {
+					search.department(department);
+				}
+				if (minCredit != null || maxCredit != null) {
+					search.creditBetween(low, high);
+				}
+				CourseJson encoder = encoder().beginArray();
+				search.stream().forEach(encoder::element);
+				return encoder.endArray();
+			});
+			send(exchange, 200, json);
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private void handleSorted(HttpExchange exchange) throws IOException {
+		try {
+			if (!checkGet(exchange)) {
+				return;
+			}
+			Map<String, String> query = query(exchange);
+			int offset;
+			int limit;
+			try {
+				offset = Integer.parseInt(query.getOrDefault("offset", "0"));
+				limit = Integer.parseInt(query.getOrDefault("limit", Integer.toString(DEFAULT_LIMIT)));
+			} catch (NumberFormatException e) {
+				sendError(exchange, 400, "The offset and limit must be integers.");
+				return;
+			}
+			if (offset < 0 || limit < 0) {
+				sendError(exchange, 400, "The offset and limit cannot be negative.");
+				return;
+			}
+			CourseJson json = courses.readList(list -> {
+				CourseJson encoder = encoder().beginArray();
+				list.streamSortedByName().skip(offset).limit(limit).forEach(encoder::element);
+				return encoder.endArray();
+			});
+			send(exchange, 200, json);
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private void handleMaxCredit(HttpExchange exchange) throws IOException {
+		try {
+			if (!checkGet(exchange)) {
+				return;
+			}
+			CourseJson json = courses.readList(list -> {
+				CourseJson encoder = encoder().beginArray();
+				list.streamMaxCredit().forEach(encoder::element);
+				return encoder.endArray();
+			});
+			send(exchange, 200, json);
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private void handleTopDepartment(HttpExchange exchange) throws IOException {
+		try {
+			if (!checkGet(exchange)) {
+				return;
+			}
+			String department = courses.countDepartment();
+			if (department != null && (department.isEmpty() || department.equals("f"))) {
+				department = null;
+			}
+			send(exchange, 200, encoder().object("department", department));
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * Returns the status for an IllegalArgumentException of the course list.
+	 */
+	private static int status(String message) {
+		if ("The course ID is not found.".equals(message)) {
+			return 404;
+		}
+		return "The course ID is duplicated.".equals(message) ? 409 : 400;
+	}
+
+	private static boolean checkGet(HttpExchange exchange) throws IOException {
+		if (!exchange.getRequestMethod().equals("GET")) {
+			sendError(exchange, 405, "Use GET.");
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Takes an empty encoder from the pool, or makes one if the pool is empty.
+	 * An encoder that is not sent is simply left to the garbage collector.
+	 */
+	private static CourseJson encoder() {
+		CourseJson json = ENCODERS.poll();
+		return json == null ? new CourseJson() : json.reset();
+	}
+
+	/**
+	 * Sends an encoded response, and then returns the encoder to the pool
+	 * unless the pool is full or the buffer of the encoder grew large.
+	 */
+	private static void send(HttpExchange exchange, int status, CourseJson json) throws IOException {
+		try {
+			exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+			exchange.sendResponseHeaders(status, json.length());
+			try (OutputStream out = exchange.getResponseBody()) {
+				json.writeTo(out);
+			}
+		} finally {
+			if (json.capacity() <= MAX_POOLED_BYTES) {
+				ENCODERS.offer(json);
+			}
+		}
+	}
+
+	private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+		send(exchange, status, encoder().object("error", message));
+	}
+
+	private static String readBody(HttpExchange exchange) throws IOException {
+		try (InputStream in = exchange.getRequestBody()) {
+			byte[] body = in.readNBytes(MAX_BODY + 1);
+			if (body.length > MAX_BODY) {
+				throw new IllegalArgumentException("The request body is too large.");
+			}
+			return new String(body, StandardCharsets.UTF_8);
+		}
+	}
+
+	private static Map<String, String> query(HttpExchange exchange) {
+		Map<String, String> parameters = new HashMap<>();
+		String query = exchange.getRequestURI().getRawQuery();
+		if (query == null) {
+			return parameters;
+		}
+		for (String pair : query.split("&")) {
+			int equals = pair.indexOf('=');
+			if (equals > 0) {
+				parameters.put(decode(pair.substring(0, equals)), decode(pair.substring(equals + 1)));
+			}
+		}
+		return parameters;
+	}
+
+	private static String decode(String text) {
+		return URLDecoder.decode(text, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Creates an executor with one virtual thread per task if the JDK has
+	 * virtual threads, found by reflection so that the class also runs on older JDKs.
+	 */
+	private static ExecutorService newExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newCachedThreadPool(task -> {
+				Thread thread = new Thread(task, "course-http");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+}
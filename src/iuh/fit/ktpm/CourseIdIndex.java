@@ -0,0 +1,206 @@
+/*
+ * @ (#) CourseIdIndex.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * A hash index from course ID to course that ignores the case of the ID.
+ * <p>
+ * The keys are ID keys (see {@link CourseKeys#id(String)}), which each course
+ * keeps, so stored keys reuse the cached hash of their String and are compared
+ * with equals. The table uses open addressing with linear probing and is
+ * resized when it becomes 3/4 full.
+ */
+final class CourseIdIndex {
+	private static final int MIN_CAPACITY = 16;
+
+	private String[] keys;
+	private Course[] values;
+	private int size;
+
+	/**
+	 * Constructs an empty index.
+	 */
+	CourseIdIndex() {
+		keys = new String[MIN_CAPACITY];
+		values = new Course[MIN_CAPACITY];
+	}
+
+	/**
+	 * Returns the number of IDs in the index.
+	 *
+	 * @return the number of IDs in the index
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the course stored under an ID key.
+	 *
+	 * @param key the ID key to look up
+	 * @return the course with the ID, or null if not found
+	 */
+	Course get(String key) {
+		int mask = keys.length - 1;
+		for (int i = hashKey(key) & mask; keys[i] != null; i = (i + 1) & mask) {
+			if (keys[i].equals(key)) {
+				return values[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the course stored under an ID, ignoring case. The ID is hashed
+	 * and compared with its case folded character by character, so a query
+	 * needs no key of its own.
+	 *
+	 * @param id the ID to look up
+	 * @return the course with the ID, or null if not found
+	 */
+	Course find(String id) {
+		int mask = keys.length - 1;
+		for (int i = hash(id) & mask; keys[i] != null; i = (i + 1) & mask) {
+			if (keys[i].equalsIgnoreCase(id)) {
+				return values[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Stores a course under an ID key. The caller must make sure that the key is
+	 * not in the index yet.
+	 *
+	 * @param key the ID key of the course
+	 * @param course the course to store
+	 */
+	void put(String key, Course course) {
+		if ((size + 1) * 4 > keys.length * 3) {
+			resize(keys.length * 2);
+		}
+		insert(key, course);
+		size++;
+	}
+
+	/**
+	 * Makes room for a number of IDs, so that putting them does not resize the table again.
+	 *
+	 * @param expected the number of IDs the index will hold
+	 */
+	void reserve(int expected) {
+		int capacity = keys.length;
+		while ((long) expected * 4 > (long) capacity * 3) {
+			capacity *= 2;
+		}
+		if (capacity != keys.length) {
+			resize(capacity);
+		}
+	}
+
+	/**
+	 * Removes an ID key from the index.
+	 *
+	 * @param key the ID key to remove
+	 * @return the course that was stored under the key, or null if not found
+	 */
+	Course remove(String key) {
+		int mask = keys.length - 1;
+		int i = hashKey(key) & mask;
+		while (keys[i] != null && !keys[i].equals(key)) {
+			i = (i + 1) & mask;
+		}
+		if (keys[i] == null) {
+			return null;
+		}
+		Course removed = values[i];
+		// Shift the following entries of the cluster back so that probing
+		// never stops early at the freed cell.
+		int hole = i;
+		for (int j = (i + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+			int home = hashKey(keys[j]) & mask;
+			if (((j - home) & mask) >= ((j - hole) & mask)) {
+				keys[hole] = keys[j];
+				values[hole] = values[j];
+				hole = j;
+			}
+		}
+		keys[hole] = null;
+		values[hole] = null;
+		size--;
+		return removed;
+	}
+
+	private void insert(String key, Course course) {
+		int mask = keys.length - 1;
+		int i = hashKey(key) & mask;
+		while (keys[i] != null) {
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		values[i] = course;
+	}
+
+	private void resize(int capacity) {
+		String[] oldKeys = keys;
+		Course[] oldValues = values;
+		keys = new String[capacity];
+		values = new Course[capacity];
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != null) {
+				insert(oldKeys[i], oldValues[i]);
+			}
+		}
+	}
+
+	/**
+	 * Hashes an ID key. For a key this is the same as {@link #hash(String)},
+	 * as folding its characters again changes nothing.
+	 */
+	private static int hashKey(String key) {
+		int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Hashes an ID so that IDs equal under {@link String#equalsIgnoreCase(String)}
+	 * get the same hash.
+	 *
+	 * @param id the ID to hash
+	 * @return the case-insensitive hash of the ID
+	 */
+	static int hash(String id) {
+		int h = 0;
+		for (int i = 0; i < id.length(); i++) {
+			h = 31 * h + fold(id.charAt(i));
+		}
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Folds the case of a character the way {@link String#equalsIgnoreCase(String)} compares characters.
+	 *
+	 * @param c the character to fold
+	 * @return the folded character
+	 */
+	static char fold(char c) {
+		if (c >= 'A' && c <= 'Z') {
+			return (char) (c + ('a' - 'A'));
+		}
+		if (c < 128) {
+			return c;
+		}
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+}
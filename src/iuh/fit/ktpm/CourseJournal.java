@@ -0,0 +1,656 @@
+/*
+ * @ (#) CourseJournal.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * An append-only journal of the changes made to a CourseList, used to
+ * rebuild the list after a restart.
+ * <p>
+ * Once a journal is opened for a list, every added or deleted course and
+ * every change made through the setters of its courses is appended to the
+ * journal before the list changes. Records are collected in memory and
+ * written by a background thread, which forces them to disk as one group
+ * when the flush interval has passed, when the buffered records reach the
+ * flush size, or as soon as a thread waits in {@link #sync()}. A change is
+ * therefore durable at most one flush interval after it was made, or when
+ * sync returns; threads that call sync at the same time share one write to
+ * disk.
+ * <p>
+ * Each record is its payload length, a CRC-32 of its type and payload, its
+ * type, and the payload, with strings as a length and UTF-8 bytes. The
+ * courses deleted by one bulk delete of the list are one record, which is
+ * replayed as one bulk delete so the courses keep their order. Opening
+ * a journal replays its records into an empty list. A last record that was
+ * only partly written, or whose checksum does not match, is taken as the
+ * end of the journal and cut off.
+ * <p>
+ * When the journal holds more than twice as many records as the list has
+ * courses, it is compacted: it is rewritten as one record per course of the
+ * list, in a temporary file that then replaces it. This happens on the next
+ * change, on the thread that makes it.
+ * <p>
+ * The methods of the list must not be called while the journal is being
+ * opened or closed; a {@link ConcurrentCourseList} takes care of that by
+ * opening the journal under its write lock.
+ */
+public final class CourseJournal implements Closeable {
+	/** The default time in milliseconds that a change waits to be written. */
+	public static final long DEFAULT_FLUSH_MILLIS = 10;
+	/** The default number of buffered bytes that makes the journal write them at once. */
+	public static final int DEFAULT_FLUSH_BYTES = 1 << 16;
+
+	static final int MAGIC = 0x4352534A;
+	static final int VERSION = 1;
+	private static final int HEADER_SIZE = 8;
+	private static final int RECORD_HEADER_SIZE = 9;
+	private static final int COMPACT_MIN_RECORDS = 1 << 14;
+
+	private static final byte ADD = 1;
+	private static final byte DELETE = 2;
+	private static final byte SET_ID = 3;
+	private static final byte SET_TITLE = 4;
+	private static final byte SET_CREDIT = 5;
+	private static final byte SET_DEPARTMENT = 6;
+	private static final byte DELETE_ALL = 7;
+
+	private final Path file;
+	private final CourseList list;
+	private final long flushNanos;
+	private final int flushBytes;
+	private final Thread flusher;
+	/** Held while the file is written, so that a compaction never runs during a flush. */
+	private final ReentrantLock io = new ReentrantLock();
+	private FileChannel channel;
+
+	// Guarded by this.
+	private byte[] pending = new byte[1 << 12];
+	private int pendingLength;
+	private long pendingSince;
+	private long appended;
+	private long durable;
+	private int waiters;
+	private int generation;
+	private long records;
+	private boolean closed;
+	private IOException failure;
+
+	private CourseJournal(Path file, CourseList list, FileChannel channel, long records,
+			long flushMillis, int flushBytes) {
+		this.file = file;
+		this.list = list;
+		this.channel = channel;
+		this.records = records;
+		this.flushNanos = flushMillis * 1_000_000L;
+		this.flushBytes = flushBytes;
+		this.flusher = new Thread(this::flushLoop, "course-journal-flusher");
+		this.flusher.setDaemon(true);
+	}
+
+	/**
+	 * Opens a journal with the default flush interval and size, replays it into a list and
+	 * records the following changes of the list.
+	 *
+	 * @param file the journal file, created if it does not exist
+	 * @param list an empty course list without a journal
+	 * @return the journal
+	 * @throws IOException if the file cannot be read or written, or is not a course journal
+	 * @throws IllegalArgumentException if file or list is null, or list is not empty or already has a journal
+	 */
+	public static CourseJournal open(Path file, CourseList list) throws IOException {
+		return open(file, list, DEFAULT_FLUSH_MILLIS, DEFAULT_FLUSH_BYTES);
+	}
+
+	/**
+	 * Opens a journal, replays it into a list and records the following changes of the list.
+	 *
+	 * @param file the journal file, created if it does not exist
+	 * @param list an empty course list without a journal
+	 * @param flushMillis the longest time in milliseconds that a change waits to be written
+	 * @param flushBytes the number of buffered bytes that makes the journal write them at once
+	 * @return the journal
+	 * @throws IOException if the file cannot be read or written, or is not a course journal
+	 * @throws IllegalArgumentException if file or list is null, list is not empty or already has a journal,
+	 *                                  or flushMillis or flushBytes is less than or equal to 0
+	 */
+	public static CourseJournal open(Path file, CourseList list, long flushMillis, int flushBytes)
+			throws IOException {
+		if (file == null) {
+			throw new IllegalArgumentException("The file cannot be null.");
+		}
+		if (list == null) {
+			throw new IllegalArgumentException("The course list cannot be null.");
+		}
+		if (list.size() != 0) {
+			throw new IllegalArgumentException("The course list must be empty.");
+		}
+		if (list.journal != null) {
+			throw new IllegalArgumentException("The course list already has a journal.");
+		}
+		if (flushMillis <= 0 || flushBytes <= 0) {
+			throw new IllegalArgumentException("The flush interval and size must be greater than 0.");
+		}
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		try {
+			long records;
+			if (channel.size() == 0) {
+				writeHeader(channel);
+				channel.force(true);
+				records = 0;
+			} else {
+				records = replay(channel, list);
+			}
+			channel.position(channel.size());
+			CourseJournal journal = new CourseJournal(file, list, channel, records, flushMillis, flushBytes);
+			list.journal = journal;
+			journal.flusher.start();
+			return journal;
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Opens a journal for a thread-safe list, under its write lock.
+	 *
+	 * @param file the journal file, created if it does not exist
+	 * @param list an empty course list without a journal
+	 * @param flushMillis the longest time in milliseconds that a change waits to be written
+	 * @param flushBytes the number of buffered bytes that makes the journal write them at once
+	 * @return the journal
+	 * @throws IOException if the file cannot be read or written, or is not a course journal
+	 * @throws IllegalArgumentException if file or list is null, list is not empty or already has a journal,
+	 *                                  or flushMillis or flushBytes is less than or equal to 0
+	 * @see #open(Path, CourseList, long, int)
+	 */
+	public static CourseJournal open(Path file, ConcurrentCourseList list, long flushMillis, int flushBytes)
+			throws IOException {
+		if (list == null) {
+			throw new IllegalArgumentException("The course list cannot be null.");
+		}
+		try {
+			return list.writeList(courses -> {
+				try {
+					return open(file, courses, flushMillis, flushBytes);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Waits until all changes made so far are written to disk.
+	 *
+	 * @throws IOException if the journal could not be written
+	 */
+	public void sync() throws IOException {
+		synchronized (this) {
+			long target = appended;
+			waiters++;
+			notifyAll();
+			try {
+				while (durable < target && failure == null && (!closed || flusher.isAlive())) {
+					wait();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while waiting for the course journal.", e);
+			} finally {
+				waiters--;
+			}
+			if (failure != null) {
+				throw failure;
+			}
+			if (durable < target) {
+				throw new IOException("The course journal is closed.");
+			}
+		}
+	}
+
+	/**
+	 * Rewrites the journal as one record per course of the list. Must be called
+	 * by the thread that changes the list, or under the write lock of a
+	 * {@link ConcurrentCourseList}.
+	 *
+	 * @throws IOException if the journal cannot be written
+	 */
+	public void compact() throws IOException {
+		long target;
+		synchronized (this) {
+			checkOpen();
+			// The list already holds every buffered change, so the buffer is
+			// dropped, and so is any flush that is waiting for the file.
+			pendingLength = 0;
+			generation++;
+			target = appended;
+		}
+		io.lock();
+		try {
+			Course[] courses = list.getCourse();
+			Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+			try {
+				try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+					writeHeader(out);
+					OutputStream stream = new BufferedOutputStream(Channels.newOutputStream(out), 1 << 16);
+					Record record = new Record();
+					for (Course course : courses == null ? new Course[0] : courses) {
+						record.begin(ADD).putCourse(course).finish();
+						stream.write(record.bytes, 0, record.length);
+					}
+					stream.flush();
+					out.force(true);
+				}
+				try {
+					Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				} catch (AtomicMoveNotSupportedException e) {
+					Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+				}
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+			channel.close();
+			channel = FileChannel.open(file, StandardOpenOption.WRITE);
+			channel.position(channel.size());
+		} catch (IOException e) {
+			fail(e);
+			throw e;
+		} finally {
+			io.unlock();
+		}
+		synchronized (this) {
+			records = list.size();
+			durable = Math.max(durable, target);
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Writes the buffered changes, stops recording the changes of the list and closes the file.
+	 *
+	 * @throws IOException if the journal could not be written
+	 */
+	@Override
+	public void close() throws IOException {
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			notifyAll();
+		}
+		try {
+			flusher.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (list.journal == this) {
+			list.journal = null;
+		}
+		channel.close();
+		synchronized (this) {
+			if (failure != null) {
+				throw failure;
+			}
+		}
+	}
+
+	void logAdd(Course course) {
+		append(new Record().begin(ADD).putCourse(course));
+	}
+
+	void logDelete(String id) {
+		append(new Record().begin(DELETE).putString(id));
+	}
+
+	void logDeleteAll(String[] ids) {
+		Record record = new Record().begin(DELETE_ALL).putInt(ids.length);
+		for (String id : ids) {
+			record.putString(id);
+		}
+		append(record);
+	}
+
+	void logId(String id, String newId) {
+		append(new Record().begin(SET_ID).putString(id).putString(newId));
+	}
+
+	void logTitle(String id, String title) {
+		append(new Record().begin(SET_TITLE).putString(id).putString(title));
+	}
+
+	void logCredit(String id, int credit) {
+		append(new Record().begin(SET_CREDIT).putString(id).putInt(credit));
+	}
+
+	void logDepartment(String id, String department) {
+		append(new Record().begin(SET_DEPARTMENT).putString(id).putString(department));
+	}
+
+	/**
+	 * Buffers a record of a change that the list is about to make.
+	 *
+	 * @throws UncheckedIOException if the journal could not be written, in which case the list must not change
+	 */
+	private void append(Record record) {
+		boolean compact;
+		synchronized (this) {
+			if (failure != null) {
+				throw new UncheckedIOException("The course journal could not be written.", failure);
+			}
+			if (closed) {
+				throw new IllegalStateException("The course journal is closed.");
+			}
+			compact = records >= COMPACT_MIN_RECORDS && records > 2L * list.size();
+		}
+		if (compact) {
+			try {
+				compact();
+			} catch (IOException e) {
+				throw new UncheckedIOException("The course journal could not be compacted.", e);
+			}
+		}
+		synchronized (this) {
+			record.finish();
+			if (pendingLength + record.length > pending.length) {
+				pending = Arrays.copyOf(pending, Math.max(pendingLength + record.length, pending.length * 2));
+			}
+			System.arraycopy(record.bytes, 0, pending, pendingLength, record.length);
+			if (pendingLength == 0) {
+				pendingSince = System.nanoTime();
+			}
+			pendingLength += record.length;
+			appended++;
+			records++;
+			// Wake the flusher to start the flush interval, or to write a full buffer.
+			if (pendingLength == record.length || pendingLength >= flushBytes) {
+				notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Writes groups of buffered records until the journal is closed.
+	 */
+	private void flushLoop() {
+		byte[] spare = new byte[pending.length];
+		while (true) {
+			ByteBuffer group;
+			long target;
+			int groupGeneration;
+			synchronized (this) {
+				try {
+					while (!closed && failure == null && !due()) {
+						if (pendingLength == 0) {
+							wait();
+						} else {
+							long nanos = pendingSince + flushNanos - System.nanoTime();
+							wait(Math.max(1, nanos / 1_000_000L), 0);
+						}
+					}
+				} catch (InterruptedException e) {
+					return;
+				}
+				if (failure != null || closed && pendingLength == 0) {
+					return;
+				}
+				group = ByteBuffer.wrap(pending, 0, pendingLength);
+				target = appended;
+				groupGeneration = generation;
+				pending = spare.length >= pending.length ? spare : new byte[pending.length];
+				pendingLength = 0;
+				spare = group.array();
+			}
+			io.lock();
+			try {
+				if (groupGeneration == generation()) {
+					while (group.hasRemaining()) {
+						channel.write(group);
+					}
+					channel.force(false);
+				}
+			} catch (IOException e) {
+				fail(e);
+				return;
+			} finally {
+				io.unlock();
+			}
+			synchronized (this) {
+				durable = Math.max(durable, target);
+				notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the buffered records should be written now.
+	 */
+	private boolean due() {
+		return pendingLength > 0 && (waiters > 0 || pendingLength >= flushBytes
+				|| System.nanoTime() - pendingSince >= flushNanos);
+	}
+
+	private synchronized int generation() {
+		return generation;
+	}
+
+	private synchronized void fail(IOException e) {
+		if (failure == null) {
+			failure = e;
+		}
+		notifyAll();
+	}
+
+	private void checkOpen() throws IOException {
+		if (failure != null) {
+			throw failure;
+		}
+		if (closed) {
+			throw new IOException("The course journal is closed.");
+		}
+	}
+
+	private static void writeHeader(FileChannel channel) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+		header.flip();
+		while (header.hasRemaining()) {
+			channel.write(header);
+		}
+	}
+
+	/**
+	 * Applies the records of a journal to a list and cuts off a torn last record.
+	 *
+	 * @return the number of records in the journal
+	 */
+	private static long replay(FileChannel channel, CourseList list) throws IOException {
+		channel.position(0);
+		DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1 << 16));
+		long size = channel.size();
+		if (size < HEADER_SIZE || in.readInt() != MAGIC) {
+			throw new IOException("The file is not a course journal.");
+		}
+		int version = in.readInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported course journal version: " + version);
+		}
+		long position = HEADER_SIZE;
+		long records = 0;
+		CRC32 crc = new CRC32();
+		byte[] body = new byte[256];
+		while (position + RECORD_HEADER_SIZE <= size) {
+			int length = in.readInt();
+			int checksum = in.readInt();
+			if (length < 1 || position + RECORD_HEADER_SIZE - 1 + length > size) {
+				break;
+			}
+			if (body.length < length) {
+				body = new byte[Math.max(length, body.length * 2)];
+			}
+			try {
+				in.readFully(body, 0, length);
+			} catch (EOFException e) {
+				break;
+			}
+			crc.reset();
+			crc.update(body, 0, length);
+			if ((int) crc.getValue() != checksum) {
+				break;
+			}
+			try {
+				apply(ByteBuffer.wrap(body, 0, length), list);
+			} catch (RuntimeException e) {
+				throw new IOException("The course journal cannot be replayed at byte " + position + ": "
+						+ e.getMessage(), e);
+			}
+			position += RECORD_HEADER_SIZE - 1 + length;
+			records++;
+		}
+		if (position < size) {
+			channel.truncate(position);
+			channel.force(true);
+		}
+		return records;
+	}
+
+	private static void apply(ByteBuffer record, CourseList list) {
+		byte type = record.get();
+		if (type == ADD) {
+			String id = getString(record);
+			String title = getString(record);
+			int credit = record.getInt();
+			list.addCourse(new Course(id, title, credit, getString(record)));
+			return;
+		}
+		if (type == DELETE_ALL) {
+			String[] ids = new String[record.getInt()];
+			for (int i = 0; i < ids.length; i++) {
+				ids[i] = getString(record);
+			}
+			list.deleteAll(Arrays.asList(ids));
+			return;
+		}
+		String id = getString(record);
+		if (type == DELETE) {
+			list.deleteCourse(id);
+			return;
+		}
+		Course course = list.searchCourse(id);
+		if (course == null) {
+			throw new IllegalArgumentException("The course ID is not found.");
+		}
+		switch (type) {
+			case SET_ID:
+				course.setId(getString(record));
+				break;
+			case SET_TITLE:
+				course.setTitle(getString(record));
+				break;
+			case SET_CREDIT:
+				course.setCredit(record.getInt());
+				break;
+			case SET_DEPARTMENT:
+				course.setDepartment(getString(record));
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown record type: " + type);
+		}
+	}
+
+	private static String getString(ByteBuffer record) {
+		int length = record.getInt();
+		if (length < 0) {
+			return null;
+		}
+		String value = new String(record.array(), record.position(), length, StandardCharsets.UTF_8);
+		record.position(record.position() + length);
+		return value;
+	}
+
+	/**
+	 * A record being encoded: the length and checksum are filled in by {@link #finish()}.
+	 */
+	private static final class Record {
+		byte[] bytes = new byte[64];
+		int length;
+
+		Record begin(byte type) {
+			length = RECORD_HEADER_SIZE;
+			bytes[RECORD_HEADER_SIZE - 1] = type;
+			return this;
+		}
+
+		Record putCourse(Course course) {
+			return putString(course.getId()).putString(course.getTitle()).putInt(course.getCredit())
+					.putString(course.getDepartment());
+		}
+
+		Record putString(String value) {
+			if (value == null) {
+				return putInt(-1);
+			}
+			byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+			putInt(utf8.length);
+			ensure(utf8.length);
+			System.arraycopy(utf8, 0, bytes, length, utf8.length);
+			length += utf8.length;
+			return this;
+		}
+
+		Record putInt(int value) {
+			ensure(4);
+			ByteBuffer.wrap(bytes, length, 4).putInt(value);
+			length += 4;
+			return this;
+		}
+
+		void finish() {
+			CRC32 crc = new CRC32();
+			crc.update(bytes, RECORD_HEADER_SIZE - 1, length - RECORD_HEADER_SIZE + 1);
+			ByteBuffer.wrap(bytes, 0, RECORD_HEADER_SIZE - 1)
+					.putInt(length - RECORD_HEADER_SIZE + 1)
+					.putInt((int) crc.getValue());
+		}
+
+		private void ensure(int n) {
+			if (length + n > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(length + n, bytes.length * 2));
+			}
+		}
+	}
+}
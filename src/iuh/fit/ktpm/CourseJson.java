@@ -0,0 +1,335 @@
+/*
+ * @ (#) CourseJson.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * Encodes courses as JSON straight into UTF-8 bytes, and decodes the flat JSON
+ * objects sent to {@link CourseHttpServer}.
+ * <p>
+ * A course is written as
+ * {@code {"id":"IT101","title":"Lập trình","credit":3,"department":"CNTT"}},
+ * with {@code null} for a missing department. The buffer is reused, so one
+ * encoder can serve many responses, one at a time.
+ */
+final class CourseJson {
+	private static final byte[] HEX = "0123456789abcdef".getBytes();
+
+	private byte[] bytes = new byte[1 << 12];
+	private int length;
+	private boolean first;
+
+	/**
+	 * Clears the buffer.
+	 *
+	 * @return this encoder
+	 */
+	CourseJson reset() {
+		length = 0;
+		return this;
+	}
+
+	/**
+	 * Starts an array of courses.
+	 *
+	 * @return this encoder
+	 */
+	CourseJson beginArray() {
+		put('[');
+		first = true;
+		return this;
+	}
+
+	/**
+	 * Adds a course to the array started by {@link #beginArray()}.
+	 *
+	 * @param course the course
+	 */
+	void element(Course course) {
+		if (!first) {
+			put(',');
+		}
+		first = false;
+		course(course);
+	}
+
+	/**
+	 * Ends the array started by {@link #beginArray()}.
+	 *
+	 * @return this encoder
+	 */
+	CourseJson endArray() {
+		put(']');
+		return this;
+	}
+
+	/**
+	 * Writes a course as an object.
+	 *
+	 * @param course the course
+	 * @return this encoder
+	 */
+	CourseJson course(Course course) {
+		ascii("{\"id\":");
+		string(course.getId());
+		ascii(",\"title\":");
+		string(course.getTitle());
+		ascii(",\"credit\":");
+		ascii(Integer.toString(course.getCredit()));
+		ascii(",\"department\":");
+		string(course.getDepartment());
+		put('}');
+		return this;
+	}
+
+	/**
+	 * Writes an object with one string member.
+	 *
+	 * @param name the name of the member
+	 * @param value the value of the member, may be null
+	 * @return this encoder
+	 */
+	CourseJson object(String name, String value) {
+		put('{');
+		string(name);
+		put(':');
+		string(value);
+		put('}');
+		return this;
+	}
+
+	/**
+	 * Returns the number of bytes written.
+	 *
+	 * @return the number of bytes written
+	 */
+	int length() {
+		return length;
+	}
+
+	/**
+	 * Returns the size of the buffer, which grows to the largest response encoded.
+	 *
+	 * @return the size of the buffer in bytes
+	 */
+	int capacity() {
+		return bytes.length;
+	}
+
+	/**
+	 * Writes the encoded bytes to a stream.
+	 *
+	 * @param out the stream
+	 * @throws IOException if the stream fails
+	 */
+	void writeTo(OutputStream out) throws IOException {
+		out.write(bytes, 0, length);
+	}
+
+	/**
+	 * Writes a JSON string, or null.
+	 */
+	private void string(String value) {
+		if (value == null) {
+			ascii("null");
+			return;
+		}
+		put('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				put('\\');
+				put(c);
+			} else if (c < 0x20) {
+				ascii("\\u00");
+				put(HEX[c >> 4]);
+				put(HEX[c & 0xF]);
+			} else if (c < 0x80) {
+				put(c);
+			} else if (c < 0x800) {
+				put(0xC0 | c >> 6);
+				put(0x80 | c & 0x3F);
+			} else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+					&& Character.isLowSurrogate(value.charAt(i + 1))) {
+				int code = Character.toCodePoint(c, value.charAt(++i));
+				put(0xF0 | code >> 18);
+				put(0x80 | code >> 12 & 0x3F);
+				put(0x80 | code >> 6 & 0x3F);
+				put(0x80 | code & 0x3F);
+			} else if (Character.isSurrogate(c)) {
+				put('?');
+			} else {
+				put(0xE0 | c >> 12);
+				put(0x80 | c >> 6 & 0x3F);
+				put(0x80 | c & 0x3F);
+			}
+		}
+		put('"');
+	}
+
+	private void ascii(String text) {
+		for (int i = 0; i < text.length(); i++) {
+			put(text.charAt(i));
+		}
+	}
+
+	private void put(int b) {
+		if (length == bytes.length) {
+			bytes = Arrays.copyOf(bytes, bytes.length * 2);
+		}
+		bytes[length++] = (byte) b;
+	}
+
+	/**
+	 * Parses a flat JSON object whose values are strings, integers or null.
+	 *
+	 * @param text the JSON text
+	 * @return the members of the object; integers are returned as Integer
+	 * @throws IllegalArgumentException if the text is not such an object
+	 */
+	static Map<String, Object> parseObject(String text) {
+		Parser parser = new Parser(text);
+		Map<String, Object> members = new HashMap<>();
+		parser.expect('{');
+		if (!parser.consume('}')) {
+			do {
+				String name = parser.string();
+				parser.expect(':');
+				members.put(name, parser.value());
+			} while (parser.consume(','));
+			parser.expect('}');
+		}
+		parser.end();
+		return members;
+	}
+
+	private static final class Parser {
+		private final String text;
+		private int i;
+
+		Parser(String text) {
+			this.text = text;
+		}
+
+		void expect(char c) {
+			if (!consume(c)) {
+				throw error();
+			}
+		}
+
+		boolean consume(char c) {
+			skipSpaces();
+			if (i < text.length() && text.charAt(i) == c) {
+				i++;
+				return true;
+			}
+			return false;
+		}
+
+		void end() {
+			skipSpaces();
+			if (i != text.length()) {
+				throw error();
+			}
+		}
+
+		Object value() {
+			skipSpaces();
+			if (text.startsWith("null", i)) {
+				i += 4;
+				return null;
+			}
+			if (i < text.length() && text.charAt(i) == '"') {
+				return string();
+			}
+			int start = i;
+			if (i < text.length() && text.charAt(i) == '-') {
+				i++;
+			}
+			while (i < text.length() && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+				i++;
+			}
+			try {
+				return Integer.valueOf(text.substring(start, i));
+			} catch (NumberFormatException e) {
+				throw error();
+			}
+		}
+
+		String string() {
+			expect('"');
+			StringBuilder value = new StringBuilder();
+			while (i < text.length()) {
+				char c = text.charAt(i++);
+				if (c == '"') {
+					return value.toString();
+				}
+				if (c != '\\') {
+					value.append(c);
+					continue;
+				}
+				if (i == text.length()) {
+					break;
+				}
+				c = text.charAt(i++);
+				switch (c) {
+					case 'b':
+						value.append('\b');
+						break;
+					case 'f':
+						value.append('\f');
+						break;
+					case 'n':
+						value.append('\n');
+						break;
+					case 'r':
+						value.append('\r');
+						break;
+					case 't':
+						value.append('\t');
+						break;
+					case 'u':
+						if (i + 4 > text.length()) {
+							throw error();
+						}
+						try {
+							value.append((char) Integer.parseInt(text.substring(i, i + 4), 16));
+						} catch (NumberFormatException e) {
+							throw error();
+						}
+						i += 4;
+						break;
+					default:
+						value.append(c);
+				}
+			}
+			throw error();
+		}
+
+		private void skipSpaces() {
+			while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+				i++;
+			}
+		}
+
+		private IllegalArgumentException error() {
+			return new IllegalArgumentException("The JSON is not valid at position " + i + ".");
+		}
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * @ (#) CourseKeys.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * Builds the normalized keys that courses are matched by.
+ * <p>
+ * An ID key is the ID with its case folded, so IDs match as with
+ * {@link String#equalsIgnoreCase(String)}. A text key, used for titles and
+ * departments, also ignores Vietnamese and other diacritics: each character
+ * is replaced by the base character of its canonical (NFD) decomposition
+ * with its case folded, {@code đ} becomes {@code d}, and combining marks are
+ * dropped. So "Lập Trình" and "lap trinh" have the same key. Keys do not
+ * depend on the default locale.
+ * <p>
+ * Text keys are built one character at a time from a table, so the
+ * Normalizer runs once per distinct character instead of once per string,
+ * and {@link #fold(char)} lets stored characters be compared without
+ * building a key.
+ */
+final class CourseKeys {
+	/** The characters below this one are folded through {@link #TABLE}. */
+	private static final int TABLE_SIZE = 0x2000;
+	/** Marks the entries of {@link #TABLE} that are not filled yet. */
+	private static final char UNKNOWN = '\uffff';
+	/**
+	 * The folded characters, filled on first use so that lists of plain ASCII
+	 * text never load the Normalizer data. Threads that race to fill an entry
+	 * store the same value.
+	 */
+	private static final char[] TABLE = new char[TABLE_SIZE];
+
+	static {
+		Arrays.fill(TABLE, UNKNOWN);
+	}
+
+	private CourseKeys() {
+	}
+
+	/**
+	 * Returns the key of an ID.
+	 *
+	 * @param id the ID
+	 * @return the ID with its case folded, the same string if it has no upper-case letters
+	 */
+	static String id(String id) {
+		int i = 0;
+		while (i < id.length() && CourseIdIndex.fold(id.charAt(i)) == id.charAt(i)) {
+			i++;
+		}
+		if (i == id.length()) {
+			return id;
+		}
+		char[] chars = id.toCharArray();
+		for (; i < chars.length; i++) {
+			chars[i] = CourseIdIndex.fold(chars[i]);
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * Returns the key of a title, a department or a query for them.
+	 *
+	 * @param text the text, may be null
+	 * @return the text without diacritics and with its case folded, the same
+	 *         string if nothing changes, or null if text is null
+	 */
+	static String text(String text) {
+		if (text == null) {
+			return null;
+		}
+		int i = 0;
+		while (i < text.length() && fold(text.charAt(i)) == text.charAt(i)) {
+			i++;
+		}
+		if (i == text.length()) {
+			return text;
+		}
+		char[] chars = new char[text.length()];
+		text.getChars(0, i, chars, 0);
+		int n = i;
+		for (; i < text.length(); i++) {
+			char c = fold(text.charAt(i));
+			if (c != 0) {
+				chars[n++] = c;
+			}
+		}
+		return new String(chars, 0, n);
+	}
+
+	/**
+	 * Folds one character of a text the way {@link #text(String)} does.
+	 *
+	 * @param c the character
+	 * @return the folded character, or 0 if the character is a combining mark to drop
+	 */
+	static char fold(char c) {
+		if (c < 128) {
+			return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+		}
+		if (c >= TABLE_SIZE) {
+			return foldSlow(c);
+		}
+		char folded = TABLE[c];
+		if (folded == UNKNOWN) {
+			folded = TABLE[c] = foldSlow(c);
+		}
+		return folded;
+	}
+
+	private static char foldSlow(char c) {
+		if (c == 0 || Character.getType(c) == Character.NON_SPACING_MARK) {
+			return 0;
+		}
+		char base = c;
+		if (c >= 128 && !Character.isSurrogate(c)) {
+			base = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD).charAt(0);
+		}
+		base = Character.toLowerCase(Character.toUpperCase(base));
+		return base == 'đ' ? 'd' : base;
+	}
+}
@@ -6,13 +6,24 @@
 
 package iuh.fit.ktpm;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.HashMap;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.TreeMap;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /*
  * @description
@@ -38,8 +49,45 @@ public class CourseList {
 	 * @param maxCourses the maximum number of courses
 	 * @param courses the list of courses
 	 */
-	private Course[] courses;
+	private final CourseSegments courses = new CourseSegments();
+	private final int maxCourses;
 	private int count = 0;
+	private CourseIdIndex index = new CourseIdIndex();
+	/*
+	 * The secondary indexes. A list loaded from a snapshot builds each of them
+	 * the first time it is needed, and leaves it null until then.
+	 */
+	private TitleTrigramIndex titles;
+	private TitleTokenIndex tokens;
+	private DepartmentIndex departments;
+	private TitleOrderIndex sorted;
+	private CreditIndex credits;
+	private final CourseOwner owner = new Owner();
+	private final CourseMetrics metrics = new CourseMetrics();
+	private DepartmentAggregates aggregates;
+	/** The listeners of the list, called in order; the department aggregates come first once built. */
+	private CourseListener[] listeners;
+	/** The snapshot whose courses are not decoded yet, or null; see {@link #load(Path)}. */
+	private CourseSnapshot pending;
+	/** The cache of title and department search results, or null if it is off. */
+	private QueryCache cache;
+	private int cacheSize;
+	/** The number of changes to the list and its indexes, checked by the streams of the list. */
+	private int modCount;
+	/** The journal that records the changes of the list, or null; set by {@link CourseJournal}. */
+	CourseJournal journal;
+	
+	/** Orders the courses of the list by their position in the list. */
+	static final Comparator<Course> IN_LIST_ORDER = Comparator.comparingInt(c -> c.slot);
+	
+	/**
+	 * Constructs a CourseList without a limit on the number of courses.
+	 * The storage grows one segment at a time as courses are added.
+	 */
+	public CourseList() {
+		this.maxCourses = Integer.MAX_VALUE;
+		buildIndexes();
+	}
 	
 	/**
 	 * Constructs a CourseList with the specified maximum number of courses.
@@ -51,43 +99,340 @@ public class CourseList {
 		if (maxCourses <= 0) {
             throw new IllegalArgumentException("Length of the array must be greater than 0.");
         }
-        courses = new Course[maxCourses];
+        this.maxCourses = maxCourses;
+        buildIndexes();
     }
+	
+	/**
+	 * Constructs a CourseList over the courses of a snapshot without reading
+	 * them: the courses are decoded when the list first needs them, and each
+	 * secondary index is built from them when it is first used.
+	 *
+	 * @param snapshot the snapshot, which keeps its mapping until the courses are decoded
+	 */
+	CourseList(CourseSnapshot snapshot) {
+		this.maxCourses = snapshot.getMaxCourses();
+		this.count = snapshot.size();
+		this.pending = count == 0 ? null : snapshot;
+		this.listeners = new CourseListener[0];
+	}
+	
+	private void buildIndexes() {
+		titles = new TitleTrigramIndex();
+		tokens = new TitleTokenIndex();
+		departments = new DepartmentIndex();
+		sorted = new TitleOrderIndex();
+		credits = new CreditIndex();
+		aggregates = new DepartmentAggregates();
+		listeners = new CourseListener[] { aggregates };
+	}
+	
+	/**
+	 * Decodes the courses of the snapshot the list was loaded from, if that
+	 * has not been done yet, and indexes them by ID. Each record is checked
+	 * against the file as it is decoded and each ID against the ones before
+	 * it, but the courses are not added one by one. The list only takes the
+	 * courses once all of them are decoded, so a corrupted snapshot leaves
+	 * it unchanged and every later call that needs the courses fails the same way.
+	 *
+	 * @throws UncheckedIOException if the snapshot is corrupted or holds an ID twice
+	 */
+	private void materialize() {
+		CourseSnapshot snapshot = pending;
+		if (snapshot == null) {
+			return;
+		}
+		Course[] decoded = new Course[snapshot.size()];
+		CourseIdIndex ids = new CourseIdIndex();
+		ids.reserve(decoded.length);
+		for (int i = 0; i < decoded.length; i++) {
+			Course course = snapshot.get(i);
+			if (ids.get(course.idKey()) != null) {
+				throw CourseSnapshot.corrupted();
+			}
+			ids.put(course.idKey(), course);
+			decoded[i] = course;
+		}
+		for (int i = 0; i < decoded.length; i++) {
+			courses.add(decoded[i]);
+			decoded[i].owner = owner;
+			decoded[i].slot = i;
+		}
+		index = ids;
+		count = decoded.length;
+		pending = null;
+	}
+	
+	private TitleTrigramIndex titles() {
+		if (titles == null) {
+			materialize();
+			TitleTrigramIndex built = new TitleTrigramIndex();
+			for (int i = 0; i < count; i++) {
+				Course course = courses.get(i);
+				built.add(course, course.titleKey());
+			}
+			titles = built;
+		}
+		return titles;
+	}
+	
+	private TitleTokenIndex tokens() {
+		if (tokens == null) {
+			materialize();
+			TitleTokenIndex built = new TitleTokenIndex();
+			for (int i = 0; i < count; i++) {
+				Course course = courses.get(i);
+				built.add(course, course.titleKey());
+			}
+			tokens = built;
+		}
+		return tokens;
+	}
+	
+	private DepartmentIndex departments() {
+		if (departments == null) {
+			materialize();
+			DepartmentIndex built = new DepartmentIndex();
+			for (int i = 0; i < count; i++) {
+				Course course = courses.get(i);
+				built.add(course, course.departmentKey(), course.getDepartment());
+			}
+			departments = built;
+		}
+		return departments;
+	}
+	
+	private TitleOrderIndex sorted() {
+		if (sorted == null) {
+			materialize();
+			TitleOrderIndex built = new TitleOrderIndex();
+			for (int i = 0; i < count; i++) {
+				Course course = courses.get(i);
+				built.add(course.getTitle(), course.getId(), course);
+			}
+			sorted = built;
+		}
+		return sorted;
+	}
+	
+	private CreditIndex credits() {
+		if (credits == null) {
+			materialize();
+			CreditIndex built = new CreditIndex();
+			for (int i = 0; i < count; i++) {
+				Course course = courses.get(i);
+				built.add(course, course.getCredit());
+			}
+			credits = built;
+		}
+		return credits;
+	}
+	
+	private DepartmentAggregates aggregates() {
+		if (aggregates == null) {
+			materialize();
+			DepartmentAggregates built = new DepartmentAggregates();
+			for (int i = 0; i < count; i++) {
+				built.courseAdded(courses.get(i));
+			}
+			CourseListener[] copy = new CourseListener[listeners.length + 1];
+			copy[0] = built;
+			System.arraycopy(listeners, 0, copy, 1, listeners.length);
+			listeners = copy;
+			aggregates = built;
+		}
+		return aggregates;
+	}
 
 	/**
 	 * Adds a course to the list.
 	 *
 	 * @param course the course to add
-	 * @throws IllegalArgumentException if course is null
+	 * @throws IllegalArgumentException if course is null, its ID is already in the list (ignoring case),
+	 *                                  or it already belongs to a course list
 	 * @throws IllegalStateException    if the course list is full
 	 */
 	public void addCourse(Course course) {
-        if (course == null) {
-            throw new IllegalArgumentException("The course cannot be null.");
-        }
-        if (count == courses.length) {
-            throw new IllegalStateException("The course list is full.");
+        long start = System.nanoTime();
+        SlowCourseOperationEvent slow = metrics.begin();
+        try {
+            if (course == null) {
+                metrics.count(CourseMetrics.Counter.ADD_INVALID);
+                throw new IllegalArgumentException("The course cannot be null.");
+            }
+            if (count == maxCourses) {
+                metrics.count(CourseMetrics.Counter.ADD_FULL);
+                throw new IllegalStateException("The course list is full.");
+            }
+            materialize();
+            if (index.get(course.idKey()) != null) {
+                metrics.count(CourseMetrics.Counter.ADD_DUPLICATE);
+                throw new IllegalArgumentException("The course ID is duplicated.");
+            }
+            if (course.owner != null) {
+                metrics.count(CourseMetrics.Counter.ADD_INVALID);
+                throw new IllegalArgumentException("The course already belongs to a course list.");
+            }
+            insert(course);
+        } finally {
+            metrics.record(CourseMetrics.Operation.ADD, start, slow, count);
         }
-        
-		for (int i = 0; i < count; i++) {
-			if (courses[i].getId().toLowerCase().equals(course.getId().toLowerCase())) {
-				throw new IllegalArgumentException("The course ID is duplicated.");
-			}
+    }
+	
+	/**
+	 * Adds a course unless its ID is already in the list. Used by bulk loaders,
+	 * which report duplicated IDs instead of stopping on them.
+	 *
+	 * @param course a course that belongs to no course list
+	 * @return true if the course was added, false if its ID is already in the list
+	 * @throws IllegalStateException if the course list is full
+	 */
+	boolean addIfAbsent(Course course) {
+		if (count == maxCourses) {
+			throw new IllegalStateException("The course list is full.");
+		}
+		materialize();
+		if (index.get(course.idKey()) != null) {
+			return false;
 		}
-        courses[count] = course;
+		insert(course);
+		return true;
+	}
+	
+	private void insert(Course course) {
+        if (journal != null) {
+        	journal.logAdd(course);
+        }
+        courses.add(course);
+        course.owner = owner;
+        course.slot = count;
+        index.put(course.idKey(), course);
+        if (titles != null) {
+        	titles.add(course, course.titleKey());
+        }
+        if (tokens != null) {
+        	tokens.add(course, course.titleKey());
+        }
+        if (departments != null) {
+        	departments.add(course, course.departmentKey(), course.getDepartment());
+        }
+        if (sorted != null) {
+        	sorted.add(course.getTitle(), course.getId(), course);
+        }
+        if (credits != null) {
+        	credits.add(course, course.getCredit());
+        }
         count++;
-    }
+        modCount++;
+        for (CourseListener listener : listeners) {
+        	listener.courseAdded(course);
+        }
+	}
 	
 	/** 
 	 * Returns the courses in the list.
 	 *
-	 * @return the courses in the list
+	 * @return a new array with the courses in the list, or null if the list is empty
 	 */
 	public Course[] getCourse() {
 		if (count == 0) {
 			return null;
 		}
-		return courses;
+		materialize();
+		return courses.toArray();
+	}
+	
+	/**
+	 * Returns the number of courses in the list.
+	 *
+	 * @return the number of courses in the list
+	 */
+	public int size() {
+		return count;
+	}
+	
+	/**
+	 * Returns the maximum number of courses the list can hold.
+	 *
+	 * @return the maximum number of courses, or Integer.MAX_VALUE if the list is unbounded
+	 */
+	public int getMaxCourses() {
+		return maxCourses;
+	}
+	
+	/**
+	 * Releases the storage segments that no longer hold any course,
+	 * for example after many courses have been deleted.
+	 */
+	public void trimToSize() {
+		if (pending == null) {
+			courses.trimToSize();
+		}
+	}
+	
+	/**
+	 * Turns on the query cache with room for a number of results, or turns it
+	 * off. The cache keeps the results of {@link #searchCourseRelatively(String)}
+	 * and {@link #searchDepartment(String)} by their query, ignoring case and
+	 * diacritics, and drops the least recently used one when it is full. Any
+	 * change of the list or of its courses makes the cached results stale, and
+	 * stale results are never returned. Hits, misses and evictions are counted
+	 * in the metrics of the list. The cache is off by default.
+	 * <p>
+	 * Setting the size drops the results cached so far.
+	 *
+	 * @param entries the maximum number of cached results, or 0 to turn the cache off
+	 * @throws IllegalArgumentException if entries is negative
+	 * @see #getMetrics()
+	 */
+	public void setQueryCacheSize(int entries) {
+		if (entries < 0) {
+			throw new IllegalArgumentException("The cache size cannot be negative.");
+		}
+		this.cache = entries == 0 ? null : new QueryCache(entries, metrics);
+		this.cacheSize = entries;
+	}
+	
+	/**
+	 * Returns the maximum number of results of the query cache.
+	 *
+	 * @return the size of the query cache, 0 if it is off
+	 */
+	public int getQueryCacheSize() {
+		return cacheSize;
+	}
+	
+	/**
+	 * Saves the courses of the list to a snapshot file.
+	 *
+	 * @param file the snapshot file, replaced if it exists
+	 * @throws IOException if the file cannot be written
+	 * @throws IllegalArgumentException if file is null
+	 * @see CourseSnapshot
+	 */
+	public void save(Path file) throws IOException {
+		CourseSnapshot.save(this, file);
+	}
+	
+	/**
+	 * Loads a course list from a snapshot file. This only maps the file, so it
+	 * takes the same few milliseconds for any number of courses. The first
+	 * operation that needs the courses decodes them all and indexes them by
+	 * ID, and each other index, such as the title index of
+	 * {@link #searchCourseRelatively(String)}, is built by the first operation
+	 * that uses it. Because of that, even the searches of a loaded list change
+	 * it, like its other operations. Only the header of the file is checked
+	 * here: if a record is corrupted or an ID is saved twice, the operation
+	 * that decodes the courses throws an UncheckedIOException and the list
+	 * stays as it was.
+	 *
+	 * @param file the snapshot file
+	 * @return a new course list with the courses of the snapshot
+	 * @throws IOException if the file cannot be read or is not a valid snapshot
+	 * @throws IllegalArgumentException if file is null
+	 */
+	public static CourseList load(Path file) throws IOException {
+		return CourseSnapshot.open(file).toCourseList();
 	}
 	
 	/** 
@@ -112,23 +457,235 @@ public class CourseList {
 	 * @throws IllegalArgumentException if the course ID is not found
 	 */
 	public void deleteCourse(String id) {
-		int find = -1; 
+		long start = System.nanoTime();
+		SlowCourseOperationEvent slow = metrics.begin();
+		try {
+			delete(id);
+		} finally {
+			metrics.record(CourseMetrics.Operation.DELETE, start, slow, count);
+		}
+	}
+	
+	private void delete(String id) {
 		if (id == null) {
 			throw new IllegalArgumentException("The course ID cannot be null.");
 		}
+		materialize();
+		Course course = index.find(id);
+		if (course == null) {
+			metrics.count(CourseMetrics.Counter.DELETE_NOT_FOUND);
+			throw new IllegalArgumentException("The course ID is not found.");
+		}
+		if (journal != null) {
+			journal.logDelete(course.getId());
+		}
+		
+		int i = course.slot;
+		Course last = courses.removeLast();
+		if (last != course) {
+			courses.set(i, last);
+			last.slot = i;
+		}
+		count--;
+		modCount++;
+		unindex(course);
+		for (CourseListener listener : listeners) {
+			listener.courseDeleted(course);
+		}
+	}
+	
+	/**
+	 * Removes a course that has left the storage from the indexes, and
+	 * detaches it from the list.
+	 */
+	private void unindex(Course course) {
+		index.remove(course.idKey());
+		if (titles != null) {
+			titles.remove(course, course.titleKey());
+		}
+		if (tokens != null) {
+			tokens.remove(course, course.titleKey());
+		}
+		if (departments != null) {
+			departments.remove(course, course.departmentKey());
+		}
+		if (sorted != null) {
+			sorted.remove(course.getTitle(), course.getId());
+		}
+		if (credits != null) {
+			credits.remove(course, course.getCredit());
+		}
+		course.owner = null;
+		course.slot = -1;
+	}
+	
+	/**
+	 * Deletes the courses that match a filter. Unlike {@link #deleteCourse(String)},
+	 * the courses that stay keep their order: the list is compacted in one pass
+	 * that starts at the first deleted course.
+	 * <p>
+	 * The filter runs on every course before any is deleted, so if it throws,
+	 * the list is left unchanged. It must not change the list.
+	 *
+	 * @param filter the courses to delete
+	 * @return the number of courses deleted
+	 * @throws IllegalArgumentException if filter is null
+	 * @throws ConcurrentModificationException if the filter changes the list
+	 */
+	public int removeIf(Predicate<? super Course> filter) {
+		if (filter == null) {
+			throw new IllegalArgumentException("The filter cannot be null.");
+		}
+		long start = System.nanoTime();
+		SlowCourseOperationEvent slow = metrics.begin();
+		try {
+			return deleteSlots(matching(filter));
+		} finally {
+			metrics.record(CourseMetrics.Operation.REMOVE_IF, start, slow, count);
+		}
+	}
+	
+	/**
+	 * Deletes the courses with some IDs, ignoring case, in one pass that keeps
+	 * the order of the courses that stay. IDs that are not in the list are skipped.
+	 *
+	 * @param ids the IDs of the courses to delete
+	 * @return the number of courses deleted
+	 * @throws IllegalArgumentException if ids is null or holds null; no course is deleted then
+	 */
+	public int deleteAll(Collection<String> ids) {
+		if (ids == null) {
+			throw new IllegalArgumentException("The course IDs cannot be null.");
+		}
+		long start = System.nanoTime();
+		SlowCourseOperationEvent slow = metrics.begin();
+		try {
+			materialize();
+			BitSet slots = new BitSet(count);
+			for (String id : ids) {
+				if (id == null) {
+					throw new IllegalArgumentException("The course ID cannot be null.");
+				}
+				Course course = index.find(id);
+				if (course != null) {
+					slots.set(course.slot);
+				}
+			}
+			return deleteSlots(slots);
+		} finally {
+			metrics.record(CourseMetrics.Operation.DELETE_ALL, start, slow, count);
+		}
+	}
+	
+	/**
+	 * Changes the courses that match a filter. The filter runs on every course
+	 * first, and then the update runs on each matching course in list order,
+	 * so the update sees the list as the filter left it. The update changes a
+	 * course through its setters, which keep the indexes, the journal and the
+	 * listeners up to date; if it throws, the courses before are already changed.
+	 *
+	 * @param filter the courses to change; it must not change the list
+	 * @param update the change to make, for example {@code c -> c.setCredit(4)}
+	 * @return the number of courses the update ran on
+	 * @throws IllegalArgumentException if filter or update is null, or the update throws it
+	 * @throws ConcurrentModificationException if the filter changes the list
+	 */
+	public int updateWhere(Predicate<? super Course> filter, Consumer<? super Course> update) {
+		if (filter == null) {
+			throw new IllegalArgumentException("The filter cannot be null.");
+		}
+		if (update == null) {
+			throw new IllegalArgumentException("The update cannot be null.");
+		}
+		long start = System.nanoTime();
+		SlowCourseOperationEvent slow = metrics.begin();
+		try {
+			BitSet slots = matching(filter);
+			Course[] matched = new Course[slots.cardinality()];
+			for (int i = slots.nextSetBit(0), n = 0; i >= 0; i = slots.nextSetBit(i + 1)) {
+				matched[n++] = courses.get(i);
+			}
+			int updated = 0;
+			for (Course course : matched) {
+				// An earlier update may have deleted the course.
+				if (course.owner == owner) {
+					update.accept(course);
+					updated++;
+				}
+			}
+			return updated;
+		} finally {
+			metrics.record(CourseMetrics.Operation.UPDATE_WHERE, start, slow, count);
+		}
+	}
+	
+	/**
+	 * Returns the positions of the courses that match a filter.
+	 *
+	 * @throws ConcurrentModificationException if the filter changes the list
+	 */
+	private BitSet matching(Predicate<? super Course> filter) {
+		materialize();
+		BitSet slots = new BitSet(count);
+		int expectedModCount = modCount;
 		for (int i = 0; i < count; i++) {
-			if (courses[i].getId().toLowerCase().equals(id.toLowerCase())) {
-				find = 1;
-				courses[i] = courses[count - 1];
-				courses[count - 1] = null;
-				count--;
-				return;
+			boolean match = filter.test(courses.get(i));
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (match) {
+				slots.set(i);
 			}
 		}
-		
-		if (find == -1) {
-			throw new IllegalArgumentException("The course ID is not found.");
+		return slots;
+	}
+	
+	/**
+	 * Deletes the courses at some positions: the courses after the first one
+	 * move down over the deleted ones in order, and the storage is cut to the
+	 * courses that stay. The listeners hear of the deleted courses after the
+	 * list is whole again.
+	 *
+	 * @return the number of courses deleted
+	 */
+	private int deleteSlots(BitSet slots) {
+		int first = slots.nextSetBit(0);
+		if (first < 0) {
+			return 0;
+		}
+		Course[] deleted = new Course[slots.cardinality()];
+		for (int i = first, n = 0; i >= 0; i = slots.nextSetBit(i + 1)) {
+			deleted[n++] = courses.get(i);
+		}
+		if (journal != null) {
+			String[] ids = new String[deleted.length];
+			for (int i = 0; i < ids.length; i++) {
+				ids[i] = deleted[i].getId();
+			}
+			journal.logDeleteAll(ids);
+		}
+		int kept = first;
+		for (int i = first; i < count; i++) {
+			Course course = courses.get(i);
+			if (!slots.get(i)) {
+				courses.set(kept, course);
+				course.slot = kept++;
+			}
+		}
+		while (count > kept) {
+			courses.removeLast();
+			count--;
+		}
+		modCount++;
+		for (Course course : deleted) {
+			unindex(course);
+		}
+		for (Course course : deleted) {
+			for (CourseListener listener : listeners) {
+				listener.courseDeleted(course);
+			}
 		}
+		return deleted.length;
 	}
 	
 	/** 
@@ -142,18 +699,122 @@ public class CourseList {
 		if (id == null) {
             throw new IllegalArgumentException("The course ID cannot be null.");
         }
-        for (int i = 0; i < count; i++) {
-        	
-       
-            if (courses[i].getId().toLowerCase().equals(id.toLowerCase())) {
-                return courses[i];
-            }
-        }
-        return null; 
+		long start = System.nanoTime();
+		SlowCourseOperationEvent slow = metrics.begin();
+		materialize();
+		Course course = index.find(id);
+		recordSearch(start, slow, course);
+		return course;
+	}
+	
+	/**
+	 * Records a search by ID that started at a time of {@link System#nanoTime()};
+	 * used by {@link ConcurrentCourseList} to record a search once, whichever way it was read.
+	 *
+	 * @param start the time the search started
+	 * @param slow the slow operation event started with the search, or null
+	 * @param course the course found, or null
+	 */
+	void recordSearch(long start, SlowCourseOperationEvent slow, Course course) {
+		if (course == null) {
+			metrics.count(CourseMetrics.Counter.SEARCH_NOT_FOUND);
+		}
+		metrics.record(CourseMetrics.Operation.SEARCH, start, slow, count);
+	}
+	
+	/**
+	 * Moves a course of this list to a new ID; called by {@link Course#setId(String)}
+	 * before the ID of the course changes.
+	 *
+	 * @param course the course whose ID changes
+	 * @param id the new ID of the course
+	 * @param key the key of the new ID
+	 * @throws IllegalArgumentException if another course of the list already has the new ID
+	 */
+	void changeId(Course course, String id, String key) {
+		Course other = index.get(key);
+		if (other != null && other != course) {
+			throw new IllegalArgumentException("The course ID is duplicated.");
+		}
+		if (journal != null) {
+			journal.logId(course.getId(), id);
+		}
+		index.remove(course.idKey());
+		index.put(key, course);
+		if (sorted != null) {
+			sorted.remove(course.getTitle(), course.getId());
+			sorted.add(course.getTitle(), id, course);
+		}
+		modCount++;
+	}
+	
+	/**
+	 * Re-indexes a course of this list under a new title; called by
+	 * {@link Course#setTitle(String)} before the title of the course changes.
+	 *
+	 * @param course the course whose title changes
+	 * @param title the new title of the course
+	 * @param key the key of the new title
+	 */
+	void changeTitle(Course course, String title, String key) {
+		if (journal != null) {
+			journal.logTitle(course.getId(), title);
+		}
+		if (titles != null) {
+			titles.remove(course, course.titleKey());
+			titles.add(course, key);
+		}
+		if (tokens != null) {
+			tokens.remove(course, course.titleKey());
+			tokens.add(course, key);
+		}
+		if (sorted != null) {
+			sorted.remove(course.getTitle(), course.getId());
+			sorted.add(title, course.getId(), course);
+		}
+		modCount++;
+	}
+	
+	/**
+	 * Re-indexes a course of this list under a new department; called by
+	 * {@link Course#setDepartment(String)} before the department of the course changes.
+	 *
+	 * @param course the course whose department changes
+	 * @param department the new department of the course
+	 * @param key the key of the new department, or null if it is null
+	 */
+	void changeDepartment(Course course, String department, String key) {
+		if (journal != null) {
+			journal.logDepartment(course.getId(), department);
+		}
+		if (departments != null) {
+			departments.remove(course, course.departmentKey());
+			departments.add(course, key, department);
+		}
+		modCount++;
+	}
+	
+	/**
+	 * Moves a course of this list to the bucket of its new number of credits; called by
+	 * {@link Course#setCredit(int)} before the credit of the course changes.
+	 *
+	 * @param course the course whose credit changes
+	 * @param credit the new number of credits of the course
+	 */
+	void changeCredit(Course course, int credit) {
+		if (journal != null) {
+			journal.logCredit(course.getId(), credit);
+		}
+		if (credits != null) {
+			credits.remove(course, course.getCredit());
+			credits.add(course, credit);
+		}
+		modCount++;
 	}
 	
 	/** 
-	 * Searches for courses with titles containing a specified string.
+	 * Searches for courses with titles containing a specified string, ignoring case and
+	 * diacritics, so "lap trinh" finds "Lập trình".
 	 *
 	 * @param title the string to search for in the course titles
 	 * @return an array of courses with titles containing the specified string, or null if none found
@@ -163,33 +824,57 @@ public class CourseList {
 		if (title == null) {
 			throw new IllegalArgumentException("The title cannot be null.");
 		}
-		
-		if (this.count == 0) {
-			return null;
+		long start = System.nanoTime();
+		SlowCourseOperationEvent slow = metrics.begin();
+		Course[] array = cached(QueryCache.Kind.TITLE, title, () -> streamByTitle(title));
+		metrics.record(CourseMetrics.Operation.SEARCH_TITLE, start, slow, count);
+		return array.length == 0 ? null : array;
+	}
+	
+	/**
+	 * Searches for courses with titles close to a string, tolerating typos. The
+	 * string and the titles are split into words, ignoring case and diacritics,
+	 * and a course matches if its title has, for every word of the string, a
+	 * word within maxDistance edits (characters inserted, deleted or replaced)
+	 * of it. Words of one or two characters must match exactly, and words of
+	 * up to five characters allow one edit, so "lap trnh" finds "Lập trình"
+	 * but "ly" does not find every title with a two-letter word.
+	 * <p>
+	 * The words of the titles are kept in a trie that is searched with a
+	 * Levenshtein automaton, so the search reads a few distinct words instead of
+	 * every title, and it stops once it has found limit courses that no other
+	 * course can beat.
+	 *
+	 * @param title the words to search for in the course titles
+	 * @param maxDistance the largest number of edits allowed for a word
+	 * @param limit the maximum number of courses to return
+	 * @return a new array with the matching courses, those with the fewest edits in
+	 *         total first and in no particular order among them; empty if none found
+	 * @throws IllegalArgumentException if the title is null, or maxDistance or limit is negative
+	 */
+	public Course[] searchCourseFuzzy(String title, int maxDistance, int limit) {
+		if (title == null) {
+			throw new IllegalArgumentException("The title cannot be null.");
 		}
-		
-		int find = -1;
-		ArrayList<Course> list = new ArrayList<>();
-		for (int i = 0; i < this.count; i++) {
-			String[] temp = lowerCaseList(courses[i].getTitle() , title);
-			
-			if (temp[0].contains(temp[1])) {
-				find = 0;
-				list.add(courses[i]); 
-			}
+		if (maxDistance < 0) {
+			throw new IllegalArgumentException("The distance cannot be negative.");
 		}
-		
-		if (find == -1) {
-			return null;
+		if (limit < 0) {
+			throw new IllegalArgumentException("The limit cannot be negative.");
 		}
-		
-		Course[] array = new Course[list.size()];
-		array = list.toArray(array);
+		long start = System.nanoTime();
+		SlowCourseOperationEvent slow = metrics.begin();
+		List<TitleTokenIndex.Match> matches = tokens().search(CourseKeys.text(title), maxDistance, limit);
+		Course[] array = new Course[matches.size()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = matches.get(i).course;
+		}
+		metrics.record(CourseMetrics.Operation.SEARCH_FUZZY, start, slow, count);
 		return array;
 	}
 	
 	/** 
-	 * Searches for courses in a specified department.
+	 * Searches for courses in a specified department, ignoring case and diacritics.
 	 *
 	 * @param department the department to search for
 	 * @return an array of courses in the specified department, or null if none found
@@ -198,30 +883,12 @@ public class CourseList {
 	public Course[] searchDepartment(String department) {
 		if (department == null) {
 			throw new IllegalArgumentException("The department cannot be null.");
-        }
-		
-		if (this.count == 0) {
-			return null;
-		}
-		
-		int find = -1;
-		ArrayList<Course> list = new ArrayList<>();
-		for (int i = 0; i < this.count; i++) {
-			String[] temp = lowerCaseList(courses[i].getDepartment() , department);
-			
-			if (temp[0].equals(temp[1])) {
-				find = 0;
-				list.add(courses[i]); 
-			}
 		}
-		
-		if (find == -1) {
-			return null;
-		}
-		
-		Course[] array = new Course[list.size()];
-		array = list.toArray(array);
-		return array;
+		long start = System.nanoTime();
+		SlowCourseOperationEvent slow = metrics.begin();
+		Course[] array = cached(QueryCache.Kind.DEPARTMENT, department, () -> streamByDepartment(department));
+		metrics.record(CourseMetrics.Operation.SEARCH_DEPARTMENT, start, slow, count);
+		return array.length == 0 ? null : array;
 	}
 	
 	/** 
@@ -230,102 +897,640 @@ public class CourseList {
 	 * @return an array of courses sorted by title, and then by ID if titles are the same
 	 */
 	public Course[] sortName() {
-	    if (this.count == 0) {
-	        return new Course[0]; 
-	    }
-	    
-	    Course[] a = new Course[count];
-	    int cnt = 0;
-	    for (int i = 0; i < count; i++) {
-	        if (courses[i] != null) {
-	            a[cnt++] = courses[i];
-	        }
-	    }
-	    
-	    a = Arrays.copyOf(a, cnt);
+	    long start = System.nanoTime();
+	    SlowCourseOperationEvent slow = metrics.begin();
+	    Course[] array = streamSortedByName().toArray(Course[]::new);
+	    metrics.record(CourseMetrics.Operation.SORT_NAME, start, slow, count);
+	    return array;
+	}
+	
+	/**
+	 * Returns one page of the courses sorted by name. Skipping the first courses
+	 * walks through them, so {@link #sortNameAfter(Course, int)} is cheaper for
+	 * moving to the next page.
+	 *
+	 * @param offset the number of sorted courses to skip
+	 * @param limit the maximum number of courses to return
+	 * @return an array of at most limit courses sorted by title, and then by ID if titles are the same
+	 * @throws IllegalArgumentException if offset or limit is negative
+	 */
+	public Course[] sortName(int offset, int limit) {
+		if (offset < 0 || limit < 0) {
+			throw new IllegalArgumentException("The offset and limit cannot be negative.");
+		}
+		return TitleOrderIndex.page(sorted().values(), offset, limit);
+	}
+	
+	/**
+	 * Returns the courses that come after a course when sorted by name,
+	 * for example the next page after the last course of the current page.
+	 *
+	 * @param after the course to start after; it does not have to be in the list
+	 * @param limit the maximum number of courses to return
+	 * @return an array of at most limit courses sorted by title, and then by ID if titles are the same
+	 * @throws IllegalArgumentException if after is null or limit is negative
+	 */
+	public Course[] sortNameAfter(Course after, int limit) {
+		if (after == null) {
+			throw new IllegalArgumentException("The course cannot be null.");
+		}
+		if (limit < 0) {
+			throw new IllegalArgumentException("The offset and limit cannot be negative.");
+		}
+		return TitleOrderIndex.page(sorted().valuesAfter(after.getTitle(), after.getId()), 0, limit);
+	}
 
-	    Arrays.sort(a, new Comparator<Course>() {
-	        @Override
-	        public int compare(Course o1, Course o2) {
-	        	if (!o1.getTitle().equals(o2.getTitle())) {
-	        		return o1.getTitle().compareTo(o2.getTitle());
-	        	} else {
-					return o1.getId().compareTo(o2.getId());
+	/**
+	 * Returns the first courses of the list in an order, such as one of
+	 * {@link CourseOrder}.
+	 *
+	 * @param order the order of the courses
+	 * @param k the maximum number of courses to return
+	 * @return an array of at most k courses, sorted as by {@link #page(Comparator, int, int)}
+	 * @throws IllegalArgumentException if order is null or k is negative
+	 */
+	public Course[] topK(Comparator<? super Course> order, int k) {
+		return page(order, 0, k);
+	}
+
+	/**
+	 * Returns one page of the courses of the list sorted in an order, such as
+	 * one of {@link CourseOrder}. Courses that are equal in the order are
+	 * sorted by their position in the list, so the page is the same as that of
+	 * a stable sort of {@link #getCourse()}.
+	 * <p>
+	 * The courses are not all sorted: one pass over the list keeps the first
+	 * m = offset + limit courses in a bounded heap, in O(n log m) time and
+	 * O(m) memory. {@link CourseOrder#TITLE} walks the title order instead,
+	 * {@link CourseOrder#CREDIT_DESCENDING} only visits the credit values that
+	 * hold the page, and a page near the end of the list sorts a copy of the list.
+	 *
+	 * @param order the order of the courses
+	 * @param offset the number of sorted courses to skip
+	 * @param limit the maximum number of courses to return
+	 * @return an array of at most limit courses in the order
+	 * @throws IllegalArgumentException if order is null, or offset or limit is negative
+	 */
+	public Course[] page(Comparator<? super Course> order, int offset, int limit) {
+		if (order == null) {
+			throw new IllegalArgumentException("The order cannot be null.");
+		}
+		if (offset < 0 || limit < 0) {
+			throw new IllegalArgumentException("The offset and limit cannot be negative.");
+		}
+		long start = System.nanoTime();
+		SlowCourseOperationEvent slow = metrics.begin();
+		Course[] array;
+		int end = (int) Math.min((long) offset + limit, count);
+		if (offset >= end) {
+			array = new Course[0];
+		} else if (order == CourseOrder.TITLE) {
+			array = TitleOrderIndex.page(sorted().values(), offset, end - offset);
+		} else if (end > count / 2) {
+			// Most of the list is wanted, so a full sort is cheaper than the heap.
+			materialize();
+			array = courses.toArray();
+			Arrays.sort(array, order);
+			array = Arrays.copyOfRange(array, offset, end);
+		} else {
+			BoundedCourseHeap heap = new BoundedCourseHeap((a, b) -> {
+				int c = order.compare(a, b);
+				return c != 0 ? c : Integer.compare(a.slot, b.slot);
+			}, end);
+			if (order == CourseOrder.CREDIT_DESCENDING) {
+				// Only the credit buckets that hold the first courses are needed.
+				int offered = 0;
+				for (Set<Course> bucket : credits().descending()) {
+					if (offered >= end) {
+						break;
+					}
+					for (Course course : bucket) {
+						heap.offer(course);
+					}
+					offered += bucket.size();
 				}
-	        }
-	    });
-	    
-	    return a;
+			} else {
+				materialize();
+				for (int i = 0; i < count; i++) {
+					heap.offer(courses.get(i));
+				}
+			}
+			array = heap.toArray(offset);
+		}
+		metrics.record(CourseMetrics.Operation.PAGE, start, slow, count);
+		return array;
 	}
-	
+
 	/** 
 	 * Finds courses with the maximum number of credits.
 	 *
 	 * @return an array of courses with the highest credit value
 	 */
 	public Course[] maxCredit() {
-	    if (this.count == 0) {
-	        return new Course[0]; 
-	    }
-	    int max = 0; 
-	    ArrayList<Course> list = new ArrayList<>();
-	    for (int i = 0; i < this.count; i++) {
-			if (max < courses[i].getCredit() && courses[i] != null) {
-				max = courses[i].getCredit();
-			}
-	    }
-	    
-	    for (int i = 0; i < this.count; i++) {
-	    	if (max == courses[i].getCredit() && courses[i] != null) {
-        		list.add(courses[i]); 
-	    	}
-	    }
-	    
-	    Course[] array = new Course[list.size()];
-	    array = list.toArray(array);
+	    long start = System.nanoTime();
+	    SlowCourseOperationEvent slow = metrics.begin();
+	    Course[] array = inListOrder(streamMaxCredit());
+	    metrics.record(CourseMetrics.Operation.MAX_CREDIT, start, slow, count);
 	    return array;
 	}
+	
+	/**
+	 * Finds courses with the minimum number of credits.
+	 *
+	 * @return an array of courses with the lowest credit value
+	 */
+	public Course[] minCredit() {
+		return inListOrder(credits().lowest());
+	}
+	
+	/**
+	 * Finds courses whose number of credits is in a range.
+	 *
+	 * @param low the lowest number of credits, inclusive
+	 * @param high the highest number of credits, inclusive
+	 * @return an array of courses sorted by credit, and then by their position in the list
+	 */
+	public Course[] between(int low, int high) {
+		ArrayList<Course> list = new ArrayList<>();
+		for (Set<Course> bucket : credits().between(low, high)) {
+			list.addAll(Arrays.asList(inListOrder(bucket)));
+		}
+		return list.toArray(new Course[list.size()]);
+	}
+	
+	/**
+	 * Finds the courses with the most credits.
+	 *
+	 * @param k the maximum number of courses to return
+	 * @return an array of at most k courses sorted by credit in descending order,
+	 *         and then by their position in the list
+	 * @throws IllegalArgumentException if k is negative
+	 */
+	public Course[] topCredit(int k) {
+		if (k < 0) {
+			throw new IllegalArgumentException("The number of courses cannot be negative.");
+		}
+		ArrayList<Course> list = new ArrayList<>(Math.min(k, count));
+		for (Set<Course> bucket : credits().descending()) {
+			if (list.size() == k) {
+				break;
+			}
+			list.addAll(Arrays.asList(firstInListOrder(bucket, k - list.size())));
+		}
+		return list.toArray(new Course[list.size()]);
+	}
+	
+	/**
+	 * Returns the first courses of a set in list order, sorting only those
+	 * when the set has more, in O(n log k) time.
+	 */
+	private static Course[] firstInListOrder(Set<Course> set, int k) {
+		if (set.size() <= k) {
+			return inListOrder(set);
+		}
+		BoundedCourseHeap heap = new BoundedCourseHeap(IN_LIST_ORDER, k);
+		for (Course course : set) {
+			heap.offer(course);
+		}
+		return heap.toArray(0);
+	}
+	
+	private static Course[] inListOrder(Set<Course> set) {
+		Course[] array = set.toArray(new Course[set.size()]);
+		Arrays.sort(array, IN_LIST_ORDER);
+		return array;
+	}
+	
+	/**
+	 * Runs a title or department search through the query cache, if it is on.
+	 *
+	 * @return the result of the search, a new array or an empty one
+	 */
+	private Course[] cached(QueryCache.Kind kind, String query, Supplier<Stream<Course>> search) {
+		if (cache == null) {
+			return inListOrder(search.get());
+		}
+		String key = CourseKeys.text(query);
+		Course[] array = cache.get(kind, key, modCount);
+		if (array == null) {
+			array = inListOrder(search.get());
+			cache.put(kind, key, modCount, array);
+		}
+		// The cached array stays in the cache, so the caller gets a copy.
+		return array.length == 0 ? array : array.clone();
+	}
+	
+	private static Course[] inListOrder(Stream<Course> stream) {
+		Course[] array = stream.toArray(Course[]::new);
+		Arrays.sort(array, IN_LIST_ORDER);
+		return array;
+	}
 
+	/**
+	 * Returns a stream of the courses in the list, in the order of the list.
+	 * The stream reports its exact size, also after being split for parallel use.
+	 * <p>
+	 * The streams of a list see the list as it is when their terminal operation
+	 * starts; changing the list or its courses during the operation makes it throw
+	 * a ConcurrentModificationException.
+	 *
+	 * @return a stream of the courses in the list
+	 */
+	public Stream<Course> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+	
+	/**
+	 * Returns a spliterator over the courses in the list, in the order of the list.
+	 *
+	 * @return a spliterator over the courses in the list
+	 * @see #stream()
+	 */
+	public Spliterator<Course> spliterator() {
+		materialize();
+		return new ListSpliterator(0, -1, 0);
+	}
+	
+	/**
+	 * Returns a stream of the courses with titles containing a string, ignoring case
+	 * and diacritics, so "lap trinh" finds "Lập trình". The courses are found through the title index when the stream runs, and are not
+	 * in the order of the list unless the string is shorter than three characters.
+	 *
+	 * @param title the string to search for in the course titles
+	 * @return a stream of the matching courses, empty if none found
+	 * @throws IllegalArgumentException if the title is null
+	 * @see #stream()
+	 */
+	public Stream<Course> streamByTitle(String title) {
+		if (title == null) {
+			throw new IllegalArgumentException("The title cannot be null.");
+		}
+		String query = CourseKeys.text(title);
+		if (query.length() < TitleTrigramIndex.GRAM) {
+			// Too short to have a trigram: check every title.
+			return stream().filter(course -> TitleTrigramIndex.matches(course, query));
+		}
+		return checked(() -> titles().candidates(query).spliterator(), Spliterator.DISTINCT | Spliterator.NONNULL)
+				.filter(course -> TitleTrigramIndex.matches(course, query));
+	}
+	
+	/**
+	 * Returns a stream of the courses in a department, ignoring case and diacritics, in no particular order.
+	 *
+	 * @param department the department
+	 * @return a stream of the courses of the department, empty if none found
+	 * @throws IllegalArgumentException if the department is null
+	 * @see #stream()
+	 */
+	public Stream<Course> streamByDepartment(String department) {
+		if (department == null) {
+			throw new IllegalArgumentException("The department cannot be null.");
+		}
+		return checked(() -> departments().get(department).spliterator(),
+				Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.SIZED);
+	}
+	
+	/**
+	 * Returns a stream of the courses sorted by title, and then by ID if titles are the same.
+	 *
+	 * @return a stream of the courses sorted by name
+	 * @see #stream()
+	 */
+	public Stream<Course> streamSortedByName() {
+		return checked(() -> sorted().values().spliterator(),
+				Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.SIZED | Spliterator.ORDERED);
+	}
+	
+	/**
+	 * Returns a stream of the courses with the maximum number of credits, in no particular order.
+	 *
+	 * @return a stream of the courses with the highest credit value, empty if the list is empty
+	 * @see #stream()
+	 */
+	public Stream<Course> streamMaxCredit() {
+		return checked(() -> credits().highest().spliterator(),
+				Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.SIZED);
+	}
+	
+	/**
+	 * Starts a query that combines several criteria, for example
+	 * <pre>
+	 * list.query().department("CNTT").titleContains("java").creditBetween(2, 4)
+	 *     .orderByTitle().limit(10).toArray();
+	 * </pre>
+	 *
+	 * @return a new query over this list
+	 * @see CourseQuery
+	 */
+	public CourseQuery query() {
+		return new CourseQuery(this);
+	}
+	
+	/**
+	 * Returns the operation metrics of the list: the latencies of its operations
+	 * and the number of failed adds, deletes and searches.
+	 *
+	 * @return the metrics of the list
+	 */
+	public CourseMetrics getMetrics() {
+		return metrics;
+	}
+	
+	/**
+	 * Adds a listener that is told about the courses added to and deleted from
+	 * the list, and about the changes made through the setters of its courses.
+	 *
+	 * @param listener the listener to add
+	 * @throws IllegalArgumentException if the listener is null
+	 * @see CourseListener
+	 */
+	public void addListener(CourseListener listener) {
+		if (listener == null) {
+			throw new IllegalArgumentException("The listener cannot be null.");
+		}
+		CourseListener[] copy = Arrays.copyOf(listeners, listeners.length + 1);
+		copy[listeners.length] = listener;
+		listeners = copy;
+	}
+	
+	/**
+	 * Removes a listener added by {@link #addListener(CourseListener)}.
+	 *
+	 * @param listener the listener to remove
+	 * @return true if the listener was removed, false if it was not added
+	 */
+	public boolean removeListener(CourseListener listener) {
+		for (int i = 0; i < listeners.length; i++) {
+			// The department aggregates cannot be removed.
+			if (listeners[i] == listener && listener != aggregates) {
+				CourseListener[] copy = new CourseListener[listeners.length - 1];
+				System.arraycopy(listeners, 0, copy, 0, i);
+				System.arraycopy(listeners, i + 1, copy, i, copy.length - i);
+				listeners = copy;
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Returns the number of courses and the credits of a department, ignoring
+	 * case and diacritics. The summaries are kept up to date as courses are
+	 * added, deleted and changed, so reading one does not look at the courses.
+	 *
+	 * @param department the department
+	 * @return the summary of the department, or null if it has no courses
+	 * @throws IllegalArgumentException if the department is null
+	 */
+	public DepartmentSummary getDepartmentSummary(String department) {
+		if (department == null) {
+			throw new IllegalArgumentException("The department cannot be null.");
+		}
+		return aggregates().get(CourseKeys.text(department));
+	}
+	
+	/**
+	 * Returns the summaries of all departments, ordered by department ignoring
+	 * case and diacritics.
+	 *
+	 * @return a new array with a summary for each department, empty if no course has a department
+	 * @see #getDepartmentSummary(String)
+	 */
+	public DepartmentSummary[] getDepartmentSummaries() {
+		return aggregates().all();
+	}
+	
+	/**
+	 * Finds a course by its ID, ignoring case, without recording a search;
+	 * used by {@link CourseQuery} and {@link ConcurrentCourseList}.
+	 */
+	Course findCourse(String id) {
+		materialize();
+		return index.find(id);
+	}
+	
+	/** Returns the courses of a department, ignoring case and diacritics; used by {@link CourseQuery}. */
+	Set<Course> departmentCourses(String department) {
+		return departments().get(department);
+	}
+	
+	/** Returns the credit buckets of a range of credits; used by {@link CourseQuery}. */
+	Collection<Set<Course>> creditBuckets(int low, int high) {
+		return credits().between(low, high);
+	}
+	
+	/** Returns the candidates of a normalized title query; used by {@link CourseQuery}. */
+	Set<Course> titleCandidates(String query) {
+		return titles().candidates(query);
+	}
+	
+	/** Checks a course against a normalized title query; used by {@link CourseQuery}. */
+	boolean titleMatches(Course course, String query) {
+		return TitleTrigramIndex.matches(course, query);
+	}
+	
+	/**
+	 * Makes a stream over an index of the list that looks at the index when its
+	 * terminal operation starts and fails if the list changes during the operation.
+	 * The spliterator reports the given characteristics, whatever the index
+	 * reports, so that they match the ones the stream was made with.
+	 */
+	Stream<Course> checked(Supplier<Spliterator<Course>> source, int characteristics) {
+		return StreamSupport.stream(() -> new CheckedSpliterator(source.get(), modCount, characteristics),
+				characteristics, false);
+	}
+	
 	/** 
 	 * Counts the number of courses in each department and returns the department with the maximum number of courses.
 	 *
-	 * @return the department with the highest number of courses, or "f" if there are multiple departments with the highest number
+	 * @return the lower-cased department with the highest number of courses, "f" if there are multiple departments
+	 *         with the highest number, an empty string if no course has a department, or null if the list is empty
 	 */
 	public String countDepartment() {
-	    TreeMap<String, Integer> map = new TreeMap<>();
-	    int maxCount = 0; 
-	    String mostFrequentDepartment = "";
-	    boolean isTie = false;
-	    
 	    if (this.count == 0) {
 	        return null;
 	    }
 	    
-	   
-	    for (int i = 0; i < this.count; i++) {
-	        String department = courses[i].getDepartment().toLowerCase();
-	        map.put(department, map.getOrDefault(department, 0) + 1);
-	    }
-	    
+	    long start = System.nanoTime();
+	    SlowCourseOperationEvent slow = metrics.begin();
+	    Set<String> mostFrequent = departments().mostFrequent();
+	    String department = mostFrequent.isEmpty() ? "" : mostFrequent.size() > 1 ? "f"
+	            : departments().name(mostFrequent.iterator().next());
+	    metrics.record(CourseMetrics.Operation.COUNT_DEPARTMENT, start, slow, count);
+	    return department;
+	}
 	
-	    for (Entry<String, Integer> entry : map.entrySet()) {
-	        int count = entry.getValue();
-	        if (count > maxCount) {
-	            maxCount = count;
-	            mostFrequentDepartment = entry.getKey();
-	            isTie = false; 
-	        } else if (count == maxCount) {
-	            isTie = true;
-	        }
-	    }
-	    
-	    
-	    if (isTie) {
-	        return "f";
-	    } else {
-	        return mostFrequentDepartment;
-	    }
+	/**
+	 * Returns the number of courses in a department.
+	 *
+	 * @param department the department, compared ignoring case and diacritics
+	 * @return the number of courses in the department
+	 * @throws IllegalArgumentException if the department is null
+	 */
+	public int countDepartment(String department) {
+		if (department == null) {
+			throw new IllegalArgumentException("The department cannot be null.");
+		}
+		return departments().count(department);
 	}
 
-}
+	/**
+	 * Passes the changes made through the setters of the courses of this list to its indexes.
+	 */
+	private final class Owner implements CourseOwner {
+		@Override
+		public void changeId(Course course, String id, String key) {
+			CourseList.this.changeId(course, id, key);
+		}
 
+		@Override
+		public void changeTitle(Course course, String title, String key) {
+			CourseList.this.changeTitle(course, title, key);
+		}
+
+		@Override
+		public void changeDepartment(Course course, String department, String key) {
+			CourseList.this.changeDepartment(course, department, key);
+		}
+
+		@Override
+		public void changeCredit(Course course, int credit) {
+			CourseList.this.changeCredit(course, credit);
+		}
+
+		@Override
+		public void changed(Course course, CourseField field, Object oldValue, Object newValue) {
+			for (CourseListener listener : listeners) {
+				listener.courseChanged(course, field, oldValue, newValue);
+			}
+		}
+	}
+
+	/**
+	 * Walks a range of positions of the list and splits it in halves.
+	 */
+	private final class ListSpliterator implements Spliterator<Course> {
+		private int index;
+		/** The end of the range, or -1 until the spliterator is first used. */
+		private int fence;
+		private int expectedModCount;
+
+		ListSpliterator(int index, int fence, int expectedModCount) {
+			this.index = index;
+			this.fence = fence;
+			this.expectedModCount = expectedModCount;
+		}
+
+		private int getFence() {
+			if (fence < 0) {
+				expectedModCount = modCount;
+				fence = count;
+			}
+			return fence;
+		}
+
+		@Override
+		public Spliterator<Course> trySplit() {
+			int hi = getFence();
+			int mid = (index + hi) >>> 1;
+			if (mid <= index) {
+				return null;
+			}
+			Spliterator<Course> prefix = new ListSpliterator(index, mid, expectedModCount);
+			index = mid;
+			return prefix;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Course> action) {
+			int hi = getFence();
+			if (index >= hi) {
+				return false;
+			}
+			checkForComodification(expectedModCount);
+			action.accept(courses.get(index++));
+			checkForComodification(expectedModCount);
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super Course> action) {
+			int hi = getFence();
+			for (int i = index; i < hi; i++) {
+				checkForComodification(expectedModCount);
+				action.accept(courses.get(i));
+			}
+			index = hi;
+			checkForComodification(expectedModCount);
+		}
+
+		@Override
+		public long estimateSize() {
+			return getFence() - index;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | SIZED | SUBSIZED | NONNULL | DISTINCT;
+		}
+	}
+
+	/**
+	 * Passes through a spliterator over an index of the list and fails if the list changes.
+	 */
+	private final class CheckedSpliterator implements Spliterator<Course> {
+		private final Spliterator<Course> source;
+		private final int expectedModCount;
+		private int characteristics;
+
+		CheckedSpliterator(Spliterator<Course> source, int expectedModCount, int characteristics) {
+			this.source = source;
+			this.expectedModCount = expectedModCount;
+			this.characteristics = characteristics;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Course> action) {
+			checkForComodification(expectedModCount);
+			return source.tryAdvance(action);
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super Course> action) {
+			source.forEachRemaining(course -> {
+				checkForComodification(expectedModCount);
+				action.accept(course);
+			});
+			checkForComodification(expectedModCount);
+		}
+
+		@Override
+		public Spliterator<Course> trySplit() {
+			Spliterator<Course> prefix = source.trySplit();
+			if (prefix == null) {
+				return null;
+			}
+			if ((characteristics & SUBSIZED) == 0) {
+				// Once split, the halves only estimate their sizes.
+				characteristics &= ~SIZED;
+			}
+			return new CheckedSpliterator(prefix, expectedModCount, characteristics);
+		}
+
+		@Override
+		public long estimateSize() {
+			return source.estimateSize();
+		}
+
+		@Override
+		public int characteristics() {
+			return characteristics;
+		}
+	}
+
+	private void checkForComodification(int expectedModCount) {
+		if (modCount != expectedModCount) {
+			throw new ConcurrentModificationException();
+		}
+	}
+}
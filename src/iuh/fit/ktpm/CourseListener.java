@@ -0,0 +1,58 @@
+/*
+ * @ (#) CourseListener.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * Listens to the changes of a {@link CourseList}: the courses added and
+ * deleted, and the fields changed through the setters of its courses.
+ * <p>
+ * A listener is called after the change is made, so the list and the course
+ * already show the new state, on the thread that made the change. With a
+ * {@link ConcurrentCourseList}, that thread holds the write lock. A listener
+ * must not change the list; if it throws, the change stays made and the
+ * exception reaches the caller, and the listeners after it are not called.
+ * The methods do nothing by default, so a listener overrides only the ones it
+ * needs.
+ *
+ * @see CourseList#addListener(CourseListener)
+ */
+public interface CourseListener {
+
+	/**
+	 * Called after a course is added to the list.
+	 *
+	 * @param course the course added
+	 */
+	default void courseAdded(Course course) {
+	}
+
+	/**
+	 * Called after a course is deleted from the list.
+	 *
+	 * @param course the course deleted, which no longer belongs to the list
+	 */
+	default void courseDeleted(Course course) {
+	}
+
+	/**
+	 * Called after a field of a course of the list changes.
+	 *
+	 * @param course the course, which already has the new value
+	 * @param field the field that changed
+	 * @param oldValue the value before the change
+	 * @param newValue the value after the change
+	 */
+	default void courseChanged(Course course, CourseField field, Object oldValue, Object newValue) {
+	}
+}
@@ -0,0 +1,345 @@
+/*
+ * @ (#) CourseMetrics.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.EventType;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * The operation metrics of a {@link CourseList}: a latency histogram for each
+ * of the operations listed in {@link Operation} and counters for the
+ * branches where operations fail.
+ * <p>
+ * Recording is lock-free and does not allocate, so it is always on. While a
+ * Java Flight Recorder recording has {@link SlowCourseOperationEvent}
+ * enabled, each operation also starts one of these events when it begins,
+ * and commits it if it took longer than the slow threshold, 1 ms by default,
+ * so the event has the start time and duration of the operation. The metrics are
+ * read through {@link #snapshot()}, which can be printed as a table or
+ * written as CSV.
+ */
+public final class CourseMetrics {
+	/**
+	 * The timed operations of a course list. The other methods, such as
+	 * minCredit, between, topCredit and the paged sortName, are not timed.
+	 */
+	public enum Operation {
+		ADD("addCourse"),
+		DELETE("deleteCourse"),
+		REMOVE_IF("removeIf"),
+		DELETE_ALL("deleteAll"),
+		UPDATE_WHERE("updateWhere"),
+		SEARCH("searchCourse"),
+		SEARCH_TITLE("searchCourseRelatively"),
+		SEARCH_FUZZY("searchCourseFuzzy"),
+		SEARCH_DEPARTMENT("searchDepartment"),
+		SORT_NAME("sortName"),
+		PAGE("page"),
+		MAX_CREDIT("maxCredit"),
+		COUNT_DEPARTMENT("countDepartment"),
+		QUERY("query");
+
+		private final String method;
+
+		Operation(String method) {
+			this.method = method;
+		}
+
+		/**
+		 * Returns the name of the method of CourseList that the operation times.
+		 *
+		 * @return the method name
+		 */
+		public String getMethod() {
+			return method;
+		}
+	}
+
+	/** The counted branches of the operations. */
+	public enum Counter {
+		/** addCourse was given an ID that is already in the list. */
+		ADD_DUPLICATE,
+		/** addCourse was called on a full list. */
+		ADD_FULL,
+		/** addCourse was given null or a course of another list. */
+		ADD_INVALID,
+		/** deleteCourse was given an ID that is not in the list. */
+		DELETE_NOT_FOUND,
+		/** searchCourse found no course with the ID. */
+		SEARCH_NOT_FOUND,
+		/** A title or department search was answered from the query cache. */
+		CACHE_HIT,
+		/** A title or department search was not in the query cache, or was stale. */
+		CACHE_MISS,
+		/** The query cache dropped its least recently used result to make room. */
+		CACHE_EVICTION
+	}
+
+	private static final Operation[] OPERATIONS = Operation.values();
+	private static final Counter[] COUNTERS = Counter.values();
+	private static final EventType SLOW_OPERATION = EventType.getEventType(SlowCourseOperationEvent.class);
+
+	private final LatencyHistogram[] histograms = new LatencyHistogram[OPERATIONS.length];
+	private final LongAdder[] counters = new LongAdder[COUNTERS.length];
+	private volatile long slowThresholdNanos = 1_000_000;
+
+	/**
+	 * Constructs empty metrics.
+	 */
+	CourseMetrics() {
+		for (int i = 0; i < histograms.length; i++) {
+			histograms[i] = new LatencyHistogram();
+		}
+		for (int i = 0; i < counters.length; i++) {
+			counters[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Starts the slow operation event of an operation that is beginning. The
+	 * event is only made while a recording has it enabled, so that timing an
+	 * operation does not allocate otherwise.
+	 *
+	 * @return the started event, or null if no recording has it enabled
+	 */
+	SlowCourseOperationEvent begin() {
+		if (!SLOW_OPERATION.isEnabled()) {
+			return null;
+		}
+		SlowCourseOperationEvent event = new SlowCourseOperationEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Records an operation that started at a time of {@link System#nanoTime()}.
+	 *
+	 * @param operation the operation
+	 * @param start the time the operation started
+	 * @param slow the event returned by {@link #begin()} when the operation started, or null
+	 * @param courses the number of courses in the list, for the slow operation event
+	 */
+	void record(Operation operation, long start, SlowCourseOperationEvent slow, int courses) {
+		long nanos = System.nanoTime() - start;
+		histograms[operation.ordinal()].record(nanos);
+		if (slow != null && nanos >= slowThresholdNanos) {
+			slow.end();
+			if (slow.shouldCommit()) {
+				slow.operation = operation.method;
+				slow.courses = courses;
+				slow.commit();
+			}
+		}
+	}
+
+	/**
+	 * Counts a branch of an operation.
+	 *
+	 * @param counter the branch
+	 */
+	void count(Counter counter) {
+		counters[counter.ordinal()].increment();
+	}
+
+	/**
+	 * Returns the duration from which an operation is reported as slow.
+	 *
+	 * @return the slow threshold in nanoseconds
+	 */
+	public long getSlowThresholdNanos() {
+		return slowThresholdNanos;
+	}
+
+	/**
+	 * Sets the duration from which an operation is reported as slow.
+	 *
+	 * @param nanos the slow threshold in nanoseconds
+	 * @throws IllegalArgumentException if nanos is negative
+	 */
+	public void setSlowThresholdNanos(long nanos) {
+		if (nanos < 0) {
+			throw new IllegalArgumentException("The slow threshold cannot be negative.");
+		}
+		this.slowThresholdNanos = nanos;
+	}
+
+	/**
+	 * Clears the histograms and counters.
+	 */
+	public void reset() {
+		for (LatencyHistogram histogram : histograms) {
+			histogram.reset();
+		}
+		for (LongAdder counter : counters) {
+			counter.reset();
+		}
+	}
+
+	/**
+	 * Copies the current metrics. Operations that run during the copy may be
+	 * seen in part.
+	 *
+	 * @return a snapshot of the metrics
+	 */
+	public Snapshot snapshot() {
+		return new Snapshot(this);
+	}
+
+	/**
+	 * A copy of the metrics at one time.
+	 */
+	public static final class Snapshot {
+		private final Map<Operation, long[]> buckets = new EnumMap<>(Operation.class);
+		private final long[] counts = new long[OPERATIONS.length];
+		private final long[] totals = new long[OPERATIONS.length];
+		private final long[] maxima = new long[OPERATIONS.length];
+		private final long[] counters = new long[COUNTERS.length];
+
+		private Snapshot(CourseMetrics metrics) {
+			for (Operation operation : OPERATIONS) {
+				int i = operation.ordinal();
+				LatencyHistogram histogram = metrics.histograms[i];
+				long[] copy = new long[LatencyHistogram.BUCKETS];
+				counts[i] = histogram.copyCounts(copy);
+				totals[i] = histogram.total();
+				maxima[i] = histogram.max();
+				buckets.put(operation, copy);
+			}
+			for (Counter counter : COUNTERS) {
+				counters[counter.ordinal()] = metrics.counters[counter.ordinal()].sum();
+			}
+		}
+
+		/**
+		 * Returns the number of times an operation ran.
+		 *
+		 * @param operation the operation
+		 * @return the number of calls
+		 */
+		public long getCount(Operation operation) {
+			return counts[operation.ordinal()];
+		}
+
+		/**
+		 * Returns the mean latency of an operation.
+		 *
+		 * @param operation the operation
+		 * @return the mean latency in nanoseconds, 0 if it never ran
+		 */
+		public double getMeanNanos(Operation operation) {
+			long n = counts[operation.ordinal()];
+			return n == 0 ? 0 : (double) totals[operation.ordinal()] / n;
+		}
+
+		/**
+		 * Returns the largest latency of an operation.
+		 *
+		 * @param operation the operation
+		 * @return the largest latency in nanoseconds, 0 if it never ran
+		 */
+		public long getMaxNanos(Operation operation) {
+			return maxima[operation.ordinal()];
+		}
+
+		/**
+		 * Returns a percentile of the latency of an operation, to the precision
+		 * of the histogram.
+		 *
+		 * @param operation the operation
+		 * @param percentile the percentile, from 0 to 100
+		 * @return the latency that the given percentage of calls did not exceed,
+		 *         in nanoseconds, 0 if it never ran
+		 * @throws IllegalArgumentException if percentile is not between 0 and 100
+		 */
+		public long getPercentileNanos(Operation operation, double percentile) {
+			if (!(percentile >= 0 && percentile <= 100)) {
+				throw new IllegalArgumentException("The percentile must be between 0 and 100.");
+			}
+			long n = counts[operation.ordinal()];
+			if (n == 0) {
+				return 0;
+			}
+			long rank = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+			long[] copy = buckets.get(operation);
+			long seen = 0;
+			for (int i = 0; i < copy.length; i++) {
+				seen += copy[i];
+				if (seen >= rank) {
+					return Math.min(LatencyHistogram.highestValue(i), getMaxNanos(operation));
+				}
+			}
+			return getMaxNanos(operation);
+		}
+
+		/**
+		 * Returns the number of times a branch was taken.
+		 *
+		 * @param counter the branch
+		 * @return the count
+		 */
+		public long getCounter(Counter counter) {
+			return counters[counter.ordinal()];
+		}
+
+		/**
+		 * Writes the snapshot as CSV: one line per operation with its count and
+		 * latencies in nanoseconds, then one line per counter.
+		 *
+		 * @param out the writer
+		 * @throws IOException if the writer fails
+		 */
+		public void writeCsv(Writer out) throws IOException {
+			out.write("operation,count,mean_ns,p50_ns,p90_ns,p99_ns,p999_ns,max_ns\n");
+			for (Operation operation : OPERATIONS) {
+				out.write(operation.method + "," + getCount(operation) + ","
+						+ Math.round(getMeanNanos(operation)) + "," + getPercentileNanos(operation, 50) + ","
+						+ getPercentileNanos(operation, 90) + "," + getPercentileNanos(operation, 99) + ","
+						+ getPercentileNanos(operation, 99.9) + "," + getMaxNanos(operation) + "\n");
+			}
+			out.write("counter,count\n");
+			for (Counter counter : COUNTERS) {
+				out.write(counter.name().toLowerCase() + "," + getCounter(counter) + "\n");
+			}
+		}
+
+		/**
+		 * Formats the snapshot as a table, with latencies in microseconds.
+		 *
+		 * @return the table
+		 */
+		@Override
+		public String toString() {
+			StringBuilder table = new StringBuilder();
+			String separator = System.lineSeparator();
+			table.append(String.format("%-24s %10s %10s %10s %10s %10s %10s", "OPERATION", "COUNT", "MEAN(us)",
+					"P50(us)", "P99(us)", "P99.9(us)", "MAX(us)")).append(separator);
+			for (Operation operation : OPERATIONS) {
+				table.append(String.format("%-24s %10d %10.1f %10.1f %10.1f %10.1f %10.1f", operation.method,
+						getCount(operation), getMeanNanos(operation) / 1e3,
+						getPercentileNanos(operation, 50) / 1e3, getPercentileNanos(operation, 99) / 1e3,
+						getPercentileNanos(operation, 99.9) / 1e3, getMaxNanos(operation) / 1e3)).append(separator);
+			}
+			for (Counter counter : COUNTERS) {
+				table.append(String.format("%-24s %10d", counter.name().toLowerCase(), getCounter(counter)))
+						.append(separator);
+			}
+			return table.toString();
+		}
+	}
+}
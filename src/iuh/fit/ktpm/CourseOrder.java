@@ -0,0 +1,75 @@
+/*
+ * @ (#) CourseOrder.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.util.Comparator;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * The common orders of courses, for {@link CourseList#topK(Comparator, int)}
+ * and {@link CourseList#page(Comparator, int, int)}. Each order ends with the
+ * ID, so no two courses of a list are equal under it: {@link #TITLE} compares
+ * IDs as they are written, as {@link CourseList#sortName()} does, and the
+ * other orders compare them ignoring case first.
+ */
+public enum CourseOrder implements Comparator<Course> {
+	/** By title, and then by ID if titles are the same, as {@link CourseList#sortName()} sorts. */
+	TITLE {
+		@Override
+		public int compare(Course a, Course b) {
+			int c = a.getTitle().compareTo(b.getTitle());
+			return c != 0 ? c : a.getId().compareTo(b.getId());
+		}
+	},
+	/** By ID, ignoring case. */
+	ID {
+		@Override
+		public int compare(Course a, Course b) {
+			return byId(a, b);
+		}
+	},
+	/** By number of credits, the most first, and then by ID. */
+	CREDIT_DESCENDING {
+		@Override
+		public int compare(Course a, Course b) {
+			int c = Integer.compare(b.getCredit(), a.getCredit());
+			return c != 0 ? c : byId(a, b);
+		}
+	},
+	/**
+	 * By department, ignoring case and diacritics, with the courses without a
+	 * department last, and then by title and ID.
+	 */
+	DEPARTMENT {
+		@Override
+		public int compare(Course a, Course b) {
+			String x = a.departmentKey();
+			String y = b.departmentKey();
+			if (x != y) {
+				if (x == null || y == null) {
+					return x == null ? 1 : -1;
+				}
+				int c = x.compareTo(y);
+				if (c != 0) {
+					return c;
+				}
+			}
+			return TITLE.compare(a, b);
+		}
+	};
+
+	private static int byId(Course a, Course b) {
+		int c = a.idKey().compareTo(b.idKey());
+		return c != 0 ? c : a.getId().compareTo(b.getId());
+	}
+}
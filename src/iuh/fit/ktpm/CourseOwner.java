@@ -0,0 +1,73 @@
+/*
+ * @ (#) CourseOwner.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * A course list that holds a course and must hear about changes to it.
+ * <p>
+ * The setters of {@link Course} call these methods after checking the new
+ * value and before storing it, so the list still sees the old value and
+ * its key on the course. The key of the new value, built by {@link CourseKeys},
+ * is passed along so the list does not normalize the value again. An owner may reject a change by throwing, in which case the course
+ * keeps its old value. Once the course stores the new value, the setter calls
+ * {@link #changed(Course, CourseField, Object, Object)}.
+ */
+interface CourseOwner {
+
+	/**
+	 * Called before the ID of a course of this list changes.
+	 *
+	 * @param course the course whose ID changes
+	 * @param id the new ID of the course
+	 * @param key the key of the new ID
+	 * @throws IllegalArgumentException if another course of the list already has the new ID
+	 */
+	void changeId(Course course, String id, String key);
+
+	/**
+	 * Called before the title of a course of this list changes.
+	 *
+	 * @param course the course whose title changes
+	 * @param title the new title of the course
+	 * @param key the key of the new title
+	 */
+	void changeTitle(Course course, String title, String key);
+
+	/**
+	 * Called before the department of a course of this list changes.
+	 *
+	 * @param course the course whose department changes
+	 * @param department the new department of the course
+	 * @param key the key of the new department, or null if it is null
+	 */
+	void changeDepartment(Course course, String department, String key);
+
+	/**
+	 * Called before the number of credits of a course of this list changes.
+	 *
+	 * @param course the course whose credit changes
+	 * @param credit the new number of credits of the course
+	 */
+	void changeCredit(Course course, int credit);
+
+	/**
+	 * Called after a field of a course of this list has changed.
+	 *
+	 * @param course the course, which already has the new value
+	 * @param field the field that changed
+	 * @param oldValue the value before the change
+	 * @param newValue the value after the change
+	 */
+	void changed(Course course, CourseField field, Object oldValue, Object newValue);
+}
@@ -0,0 +1,360 @@
+/*
+ * @ (#) CourseQuery.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * A query over a {@link CourseList} that combines criteria with AND, started
+ * by {@link CourseList#query()}.
+ * <p>
+ * The criteria are an ID, a department, a string contained in the title and
+ * a range of credits. IDs, departments and titles are compared by their
+ * keys, as in the search methods of the list (see {@link CourseKeys}). The results are in the order
+ * of the list, or sorted by title and then by ID, and may be limited to a
+ * number of courses.
+ * <p>
+ * When the query runs, a small planner estimates how many courses each access
+ * path would visit: the ID, department, credit or title index, or a walk over
+ * the list or the title order that stops at the limit. It takes the cheapest
+ * path and checks the other criteria on each course it visits, in one pass.
+ * {@link #explain()} describes the chosen plan.
+ */
+public final class CourseQuery {
+	/** Orders courses by title, and then by ID, as {@link CourseList#sortName()} does. */
+	private static final Comparator<Course> BY_TITLE = Comparator.comparing(Course::getTitle)
+			.thenComparing(Course::getId);
+
+	private final CourseList list;
+	private String id;
+	private String department;
+	/** The normalized title query, or null. */
+	private String title;
+	private boolean hasCredit;
+	private int lowCredit;
+	private int highCredit;
+	private boolean orderByTitle;
+	private int limit = Integer.MAX_VALUE;
+
+	/**
+	 * Constructs a query over a list with no criteria.
+	 *
+	 * @param list the course list
+	 */
+	CourseQuery(CourseList list) {
+		this.list = list;
+	}
+
+	/**
+	 * Keeps the course with an ID, ignoring case.
+	 *
+	 * @param id the ID of the course
+	 * @return this query
+	 * @throws IllegalArgumentException if the ID is null
+	 */
+	public CourseQuery id(String id) {
+		if (id == null) {
+			throw new IllegalArgumentException("The course ID cannot be null.");
+		}
+		this.id = id;
+		return this;
+	}
+
+	/**
+	 * Keeps the courses of a department, ignoring case and diacritics.
+	 *
+	 * @param department the department
+	 * @return this query
+	 * @throws IllegalArgumentException if the department is null
+	 */
+	public CourseQuery department(String department) {
+		if (department == null) {
+			throw new IllegalArgumentException("The department cannot be null.");
+		}
+		this.department = department;
+		return this;
+	}
+
+	/**
+	 * Keeps the courses with titles containing a string, ignoring case and diacritics.
+	 *
+	 * @param title the string to search for in the course titles
+	 * @return this query
+	 * @throws IllegalArgumentException if the title is null
+	 */
+	public CourseQuery titleContains(String title) {
+		if (title == null) {
+			throw new IllegalArgumentException("The title cannot be null.");
+		}
+		this.title = CourseKeys.text(title);
+		return this;
+	}
+
+	/**
+	 * Keeps the courses whose number of credits is in a range.
+	 *
+	 * @param low the lowest number of credits, inclusive
+	 * @param high the highest number of credits, inclusive
+	 * @return this query
+	 */
+	public CourseQuery creditBetween(int low, int high) {
+		this.hasCredit = true;
+		this.lowCredit = low;
+		this.highCredit = high;
+		return this;
+	}
+
+	/**
+	 * Sorts the results by title, and then by ID if titles are the same,
+	 * instead of by their position in the list.
+	 *
+	 * @return this query
+	 */
+	public CourseQuery orderByTitle() {
+		this.orderByTitle = true;
+		return this;
+	}
+
+	/**
+	 * Keeps at most a number of results.
+	 *
+	 * @param limit the maximum number of results
+	 * @return this query
+	 * @throws IllegalArgumentException if limit is negative
+	 */
+	public CourseQuery limit(int limit) {
+		if (limit < 0) {
+			throw new IllegalArgumentException("The limit cannot be negative.");
+		}
+		this.limit = limit;
+		return this;
+	}
+
+	/**
+	 * Returns a stream of the results. The query is planned when the terminal
+	 * operation of the stream starts, and the stream behaves like the other
+	 * streams of the list when the list changes.
+	 *
+	 * @return a stream of the courses that meet all criteria
+	 * @see CourseList#stream()
+	 */
+	public Stream<Course> stream() {
+		return StreamSupport.stream(() -> plan().run().spliterator(),
+				Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL, false);
+	}
+
+	/**
+	 * Runs the query.
+	 *
+	 * @return a new array with the courses that meet all criteria, empty if none found
+	 */
+	public Course[] toArray() {
+		long start = System.nanoTime();
+		SlowCourseOperationEvent slow = list.getMetrics().begin();
+		Course[] array = plan().run().toArray(Course[]::new);
+		list.getMetrics().record(CourseMetrics.Operation.QUERY, start, slow, list.size());
+		return array;
+	}
+
+	/**
+	 * Describes how the query would run on the list as it is now, for example
+	 * {@code "department index (120 courses), check title, credit, sort by title, limit 10"}.
+	 *
+	 * @return a description of the plan
+	 */
+	public String explain() {
+		return plan().toString();
+	}
+
+	/**
+	 * Picks the access path that visits the fewest courses.
+	 */
+	private Plan plan() {
+		Plan plan = new Plan();
+		int size = list.size();
+		Access best = null;
+		long visited = size;
+		if (id != null) {
+			plan.course = list.findCourse(id);
+			best = Access.ID;
+			visited = plan.course == null ? 0 : 1;
+		}
+		if (department != null) {
+			plan.departmentCourses = list.departmentCourses(department);
+			if (best == null || plan.departmentCourses.size() < visited) {
+				best = Access.DEPARTMENT;
+				visited = plan.departmentCourses.size();
+			}
+		}
+		if (hasCredit) {
+			plan.creditBuckets = list.creditBuckets(lowCredit, highCredit);
+			long n = 0;
+			for (Set<Course> bucket : plan.creditBuckets) {
+				n += bucket.size();
+			}
+			if (best == null || n < visited) {
+				best = Access.CREDIT;
+				visited = n;
+			}
+		}
+		if (title != null && title.length() >= TitleTrigramIndex.GRAM) {
+			plan.titleCourses = list.titleCandidates(title);
+			if (best == null || plan.titleCourses.size() < visited) {
+				best = Access.TITLE;
+				visited = plan.titleCourses.size();
+			}
+		}
+
+		// An index gives its courses in no useful order, so they are sorted after
+		// the filter; a walk in the wanted order needs no sort and stops at the
+		// limit, after about limit * size / matches courses.
+		Access walk = orderByTitle ? Access.TITLE_ORDER : Access.LIST;
+		long walked = size;
+		if (limit != Integer.MAX_VALUE && visited > 0) {
+			walked = Math.min(size, ((long) limit * size + visited - 1) / visited);
+		}
+		if (best == null || visited + sortCost(visited) > walked) {
+			plan.access = walk;
+			plan.visited = walked;
+		} else {
+			plan.access = best;
+			plan.visited = visited;
+		}
+		return plan;
+	}
+
+	/**
+	 * Estimates the comparisons needed to sort n courses.
+	 */
+	private static long sortCost(long n) {
+		return n <= 1 ? 0 : n * (64 - Long.numberOfLeadingZeros(n - 1));
+	}
+
+	/** The ways a plan can reach the courses. */
+	private enum Access {
+		ID("ID index"),
+		DEPARTMENT("department index"),
+		CREDIT("credit index"),
+		TITLE("title index"),
+		LIST("list scan"),
+		TITLE_ORDER("title order scan");
+
+		private final String description;
+
+		Access(String description) {
+			this.description = description;
+		}
+	}
+
+	/**
+	 * The access path chosen for a query and the index entries it looked up.
+	 */
+	private final class Plan {
+		private Access access;
+		private long visited;
+		private Course course;
+		private Set<Course> departmentCourses;
+		private Collection<Set<Course>> creditBuckets;
+		private Set<Course> titleCourses;
+
+		/**
+		 * Builds the stream of the plan: the access path, one filter for the
+		 * other criteria, then the sort and the limit when needed.
+		 */
+		Stream<Course> run() {
+			Stream<Course> stream;
+			switch (access) {
+				case ID:
+					stream = course == null ? Stream.empty() : Stream.of(course);
+					break;
+				case DEPARTMENT:
+					stream = list.checked(departmentCourses::spliterator,
+							Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.SIZED);
+					break;
+				case CREDIT:
+					stream = creditBuckets.stream().flatMap(bucket -> list.checked(bucket::spliterator,
+							Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.SIZED));
+					break;
+				case TITLE:
+					stream = list.checked(titleCourses::spliterator, Spliterator.DISTINCT | Spliterator.NONNULL);
+					break;
+				case TITLE_ORDER:
+					stream = list.streamSortedByName();
+					break;
+				default:
+					stream = list.stream();
+			}
+			stream = stream.filter(this::test);
+			if (!isWalk()) {
+				stream = stream.sorted(orderByTitle ? BY_TITLE : CourseList.IN_LIST_ORDER);
+			}
+			return limit == Integer.MAX_VALUE ? stream : stream.limit(limit);
+		}
+
+		/**
+		 * Checks the criteria that the access path does not already ensure.
+		 */
+		private boolean test(Course c) {
+			if (id != null && access != Access.ID && c != course) {
+				return false;
+			}
+			if (department != null && access != Access.DEPARTMENT && !departmentCourses.contains(c)) {
+				return false;
+			}
+			if (hasCredit && access != Access.CREDIT && (c.getCredit() < lowCredit || c.getCredit() > highCredit)) {
+				return false;
+			}
+			return title == null || list.titleMatches(c, title);
+		}
+
+		private boolean isWalk() {
+			return access == Access.LIST || access == Access.TITLE_ORDER;
+		}
+
+		@Override
+		public String toString() {
+			StringJoiner plan = new StringJoiner(", ");
+			plan.add(access.description + " (" + visited + " courses)");
+			StringJoiner checks = new StringJoiner(", ", "check ", "").setEmptyValue("");
+			if (id != null && access != Access.ID) {
+				checks.add("ID");
+			}
+			if (department != null && access != Access.DEPARTMENT) {
+				checks.add("department");
+			}
+			if (title != null) {
+				checks.add("title");
+			}
+			if (hasCredit && access != Access.CREDIT) {
+				checks.add("credit");
+			}
+			if (checks.length() > 0) {
+				plan.add(checks.toString());
+			}
+			if (!isWalk()) {
+				plan.add(orderByTitle ? "sort by title" : "sort by position");
+			}
+			if (limit != Integer.MAX_VALUE) {
+				plan.add("limit " + limit);
+			}
+			return plan.toString();
+		}
+	}
+}
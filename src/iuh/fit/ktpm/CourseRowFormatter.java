@@ -0,0 +1,95 @@
+/*
+ * @ (#) CourseRowFormatter.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * Writes courses as the rows printed by {@link Course#toString()}, without
+ * String.format and without upper-casing into new strings.
+ * <p>
+ * A row is built in a reused buffer: the upper-cased ID padded to 10
+ * characters, the title padded to 25, the credit padded to 6 and the
+ * upper-cased department padded to 20, separated by spaces. A missing
+ * department is written as an empty field.
+ */
+final class CourseRowFormatter {
+	/** The header line of the course table. */
+	static final String HEADER = String.format("%-10s %-25s %-6s %-20s", "ID", "TITLE", "CREDIT", "DEPARTMENT");
+
+	/** Whether upper-casing ASCII letters in the default locale is the plain a-z to A-Z mapping. */
+	private static final boolean ASCII_UPPER_CASE = "abcdefghijklmnopqrstuvwxyz".toUpperCase()
+			.equals("ABCDEFGHIJKLMNOPQRSTUVWXYZ");
+
+	private final StringBuilder row = new StringBuilder(80);
+	private char[] chars = new char[80];
+
+	/**
+	 * Writes a course as a row, followed by a line separator.
+	 *
+	 * @param out the writer
+	 * @param course the course
+	 * @throws IOException if the writer fails
+	 */
+	void write(Writer out, Course course) throws IOException {
+		row.setLength(0);
+		appendUpperCase(course.getId());
+		pad(0, 10);
+		int start = row.append(' ').length();
+		row.append(course.getTitle());
+		pad(start, 25);
+		start = row.append(' ').length();
+		row.append(course.getCredit());
+		pad(start, 6);
+		start = row.append(' ').length();
+		if (course.getDepartment() != null) {
+			appendUpperCase(course.getDepartment());
+		}
+		pad(start, 20);
+		row.append(System.lineSeparator());
+		if (chars.length < row.length()) {
+			chars = new char[row.capacity()];
+		}
+		row.getChars(0, row.length(), chars, 0);
+		out.write(chars, 0, row.length());
+	}
+
+	/**
+	 * Pads the field that starts at a position with spaces to a width.
+	 */
+	private void pad(int start, int width) {
+		for (int n = row.length() - start; n < width; n++) {
+			row.append(' ');
+		}
+	}
+
+	private void appendUpperCase(String value) {
+		if (ASCII_UPPER_CASE) {
+			int length = value.length();
+			int i = 0;
+			while (i < length && value.charAt(i) < 128) {
+				i++;
+			}
+			if (i == length) {
+				for (i = 0; i < length; i++) {
+					char c = value.charAt(i);
+					row.append(c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c);
+				}
+				return;
+			}
+		}
+		row.append(value.toUpperCase());
+	}
+}
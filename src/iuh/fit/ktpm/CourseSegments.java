@@ -0,0 +1,138 @@
+/*
+ * @ (#) CourseSegments.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.util.Arrays;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * A growable array of courses stored in fixed-size segments.
+ * <p>
+ * Growing the array allocates a new segment and never copies the courses
+ * that are already stored; only the small directory of segments is copied
+ * when it runs out of room. Segments that become empty at the end of the
+ * array are released, keeping one spare segment to avoid churn when courses
+ * are added and removed around a segment boundary.
+ */
+final class CourseSegments {
+	static final int SEGMENT_BITS = 10;
+	static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+	private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+	private Course[][] segments = new Course[4][];
+	private int segmentCount;
+	private int size;
+
+	/**
+	 * Returns the number of courses in the array.
+	 *
+	 * @return the number of courses in the array
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the course at a position.
+	 *
+	 * @param i the position, between 0 and size() - 1
+	 * @return the course at the position
+	 */
+	Course get(int i) {
+		return segments[i >>> SEGMENT_BITS][i & SEGMENT_MASK];
+	}
+
+	/**
+	 * Replaces the course at a position.
+	 *
+	 * @param i the position, between 0 and size() - 1
+	 * @param course the new course
+	 */
+	void set(int i, Course course) {
+		segments[i >>> SEGMENT_BITS][i & SEGMENT_MASK] = course;
+	}
+
+	/**
+	 * Appends a course at the end of the array.
+	 *
+	 * @param course the course to append
+	 */
+	void add(Course course) {
+		int segment = size >>> SEGMENT_BITS;
+		if (segment == segmentCount) {
+			if (segmentCount == segments.length) {
+				segments = Arrays.copyOf(segments, segmentCount * 2);
+			}
+			segments[segmentCount++] = new Course[SEGMENT_SIZE];
+		}
+		segments[segment][size & SEGMENT_MASK] = course;
+		size++;
+	}
+
+	/**
+	 * Removes the last course of the array.
+	 *
+	 * @return the removed course
+	 */
+	Course removeLast() {
+		size--;
+		Course[] segment = segments[size >>> SEGMENT_BITS];
+		Course removed = segment[size & SEGMENT_MASK];
+		segment[size & SEGMENT_MASK] = null;
+		// Keep the segment being filled plus one spare.
+		if (segmentCount - usedSegments() > 1) {
+			segments[--segmentCount] = null;
+		}
+		return removed;
+	}
+
+	/**
+	 * Removes all courses and releases every segment.
+	 */
+	void clear() {
+		segments = new Course[4][];
+		segmentCount = 0;
+		size = 0;
+	}
+
+	/**
+	 * Releases every segment that holds no course and shrinks the directory.
+	 */
+	void trimToSize() {
+		int used = usedSegments();
+		for (int s = used; s < segmentCount; s++) {
+			segments[s] = null;
+		}
+		segmentCount = used;
+		segments = Arrays.copyOf(segments, Math.max(used, 4));
+	}
+
+	/**
+	 * Copies the courses into a new array of length size().
+	 *
+	 * @return a new array with the courses in order
+	 */
+	Course[] toArray() {
+		Course[] array = new Course[size];
+		for (int s = 0, copied = 0; copied < size; s++) {
+			int n = Math.min(SEGMENT_SIZE, size - copied);
+			System.arraycopy(segments[s], 0, array, copied, n);
+			copied += n;
+		}
+		return array;
+	}
+
+	private int usedSegments() {
+		return (size + SEGMENT_MASK) >>> SEGMENT_BITS;
+	}
+}
@@ -0,0 +1,244 @@
+/*
+ * @ (#) CourseSet.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.lang.reflect.Array;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * A set of courses compared by identity, used for the buckets of the indexes
+ * of CourseList.
+ * <p>
+ * The courses are kept in a single open-addressing table with linear
+ * probing, so a set needs one array slot per course instead of the key and
+ * value slots, or the entry objects, of the general-purpose sets. The
+ * iterator does not support removal. The spliterator splits the table in
+ * halves, so only the whole set knows its exact size.
+ */
+final class CourseSet extends AbstractSet<Course> {
+	private static final int MIN_CAPACITY = 4;
+
+	private Course[] table = new Course[MIN_CAPACITY];
+	private int size;
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		Course[] t = table;
+		int mask = t.length - 1;
+		for (int i = hash(o) & mask; t[i] != null; i = (i + 1) & mask) {
+			if (t[i] == o) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean add(Course course) {
+		if (contains(course)) {
+			return false;
+		}
+		if ((size + 1) * 4 > table.length * 3) {
+			resize(table.length * 2);
+		}
+		insert(table, course);
+		size++;
+		return true;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		Course[] t = table;
+		int mask = t.length - 1;
+		int i = hash(o) & mask;
+		while (t[i] != null && t[i] != o) {
+			i = (i + 1) & mask;
+		}
+		if (t[i] == null) {
+			return false;
+		}
+		int hole = i;
+		for (int j = (i + 1) & mask; t[j] != null; j = (j + 1) & mask) {
+			int home = hash(t[j]) & mask;
+			if (((j - home) & mask) >= ((j - hole) & mask)) {
+				t[hole] = t[j];
+				hole = j;
+			}
+		}
+		t[hole] = null;
+		size--;
+		if (size * 8 < t.length && t.length > MIN_CAPACITY) {
+			resize(t.length / 2);
+		}
+		return true;
+	}
+
+	@Override
+	public Iterator<Course> iterator() {
+		return new Iterator<Course>() {
+			private final Course[] t = table;
+			private int next = advance(0);
+
+			@Override
+			public boolean hasNext() {
+				return next < t.length;
+			}
+
+			@Override
+			public Course next() {
+				if (next >= t.length) {
+					throw new NoSuchElementException();
+				}
+				Course course = t[next];
+				next = advance(next + 1);
+				return course;
+			}
+
+			private int advance(int i) {
+				while (i < t.length && t[i] == null) {
+					i++;
+				}
+				return i;
+			}
+		};
+	}
+
+	@Override
+	public Spliterator<Course> spliterator() {
+		return new TableSpliterator(table, 0, table.length, size, true);
+	}
+
+	@Override
+	public Object[] toArray() {
+		return toArray(new Course[size]);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T[] toArray(T[] a) {
+		T[] array = a.length >= size ? a : (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+		int n = 0;
+		for (Course course : table) {
+			if (course != null) {
+				array[n++] = (T) course;
+			}
+		}
+		if (array.length > n) {
+			array[n] = null;
+		}
+		return array;
+	}
+
+	private void resize(int capacity) {
+		Course[] old = table;
+		table = new Course[capacity];
+		for (Course course : old) {
+			if (course != null) {
+				insert(table, course);
+			}
+		}
+	}
+
+	private static void insert(Course[] t, Course course) {
+		int mask = t.length - 1;
+		int i = hash(course) & mask;
+		while (t[i] != null) {
+			i = (i + 1) & mask;
+		}
+		t[i] = course;
+	}
+
+	private static int hash(Object o) {
+		int h = System.identityHashCode(o) * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Walks a range of the table of a set.
+	 */
+	private static final class TableSpliterator implements Spliterator<Course> {
+		private final Course[] t;
+		private int index;
+		private final int fence;
+		private long estimate;
+		private boolean exact;
+
+		TableSpliterator(Course[] t, int index, int fence, long estimate, boolean exact) {
+			this.t = t;
+			this.index = index;
+			this.fence = fence;
+			this.estimate = estimate;
+			this.exact = exact;
+		}
+
+		@Override
+		public Spliterator<Course> trySplit() {
+			int mid = (index + fence) >>> 1;
+			if (mid <= index) {
+				return null;
+			}
+			estimate >>>= 1;
+			exact = false;
+			Spliterator<Course> prefix = new TableSpliterator(t, index, mid, estimate, false);
+			index = mid;
+			return prefix;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Course> action) {
+			while (index < fence) {
+				Course course = t[index++];
+				if (course != null) {
+					if (exact) {
+						estimate--;
+					}
+					action.accept(course);
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super Course> action) {
+			for (int i = index; i < fence; i++) {
+				if (t[i] != null) {
+					action.accept(t[i]);
+				}
+			}
+			index = fence;
+			estimate = 0;
+		}
+
+		@Override
+		public long estimateSize() {
+			return estimate;
+		}
+
+		@Override
+		public int characteristics() {
+			// Once split, the halves only estimate their sizes.
+			return DISTINCT | NONNULL | (exact ? SIZED : 0);
+		}
+	}
+}
@@ -0,0 +1,391 @@
+/*
+ * @ (#) CourseSnapshot.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * A read-only course list stored in a binary snapshot file and mapped into memory.
+ * <p>
+ * Opening a snapshot only maps the file and checks its header, so it takes
+ * the same time for any number of courses. A course is decoded from the
+ * file each time it is read, and is not checked again because it was valid
+ * when the snapshot was written. Its position and lengths are checked
+ * against the file, though, so a damaged record fails with an
+ * UncheckedIOException instead of being read from the wrong place.
+ * {@link #toCourseList()} turns the snapshot
+ * into a CourseList that can be changed, which also starts in constant time
+ * and decodes the courses and builds its indexes when they are first needed.
+ * <p>
+ * The file starts with a header of {@value #HEADER_SIZE} bytes: the magic
+ * number, the format version, the number of courses, the maximum number of
+ * courses of the list, and the positions of the two tables at the end of
+ * the file. The course records follow in list order; a record is the
+ * number of credits and then the ID, the title and the department, each as
+ * its length in bytes and its UTF-8 bytes, with a length of -1 for a
+ * missing department. The offset table holds the position of each record,
+ * and the ID table holds the record numbers sorted by ID ignoring case, so
+ * {@link #searchCourse(String)} is a binary search. All numbers are big-endian.
+ * <p>
+ * The mapping is released when the snapshot is no longer referenced. The
+ * file can be at most 2 GB.
+ */
+public final class CourseSnapshot {
+	/** The first four bytes of a snapshot file, "CRSS". */
+	static final int MAGIC = 0x43525353;
+	/** The version of the format written by this class. */
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 32;
+
+	private final ByteBuffer buffer;
+	private final int count;
+	private final int maxCourses;
+	private final int offsets;
+	private final int ids;
+
+	private CourseSnapshot(ByteBuffer buffer) throws IOException {
+		this.buffer = buffer;
+		if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+			throw new IOException("The file is not a course snapshot.");
+		}
+		if (buffer.getInt(4) != VERSION) {
+			throw new IOException("Unsupported course snapshot version: " + buffer.getInt(4));
+		}
+		this.count = buffer.getInt(8);
+		this.maxCourses = buffer.getInt(12);
+		long offsets = buffer.getLong(16);
+		long ids = buffer.getLong(24);
+		if (count < 0 || maxCourses <= 0 || maxCourses < count || offsets < HEADER_SIZE
+				|| offsets + 4L * count != ids || ids + 4L * count != buffer.capacity()) {
+			throw new IOException("The course snapshot is corrupted.");
+		}
+		this.offsets = (int) offsets;
+		this.ids = (int) ids;
+	}
+
+	/**
+	 * Opens a snapshot file.
+	 *
+	 * @param file the snapshot file
+	 * @return the snapshot
+	 * @throws IOException if the file cannot be read or is not a valid snapshot
+	 * @throws IllegalArgumentException if file is null
+	 */
+	public static CourseSnapshot open(Path file) throws IOException {
+		if (file == null) {
+			throw new IllegalArgumentException("The file cannot be null.");
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("The course snapshot is larger than 2 GB.");
+			}
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return new CourseSnapshot(buffer);
+		}
+	}
+
+	/**
+	 * Writes the courses of a list to a snapshot file. The snapshot is written
+	 * to a temporary file first, which then replaces the file, so the file
+	 * always holds a whole snapshot.
+	 *
+	 * @param list the list to save
+	 * @param file the snapshot file
+	 * @throws IOException if the file cannot be written
+	 * @throws IllegalArgumentException if list or file is null
+	 */
+	public static void save(CourseList list, Path file) throws IOException {
+		if (list == null) {
+			throw new IllegalArgumentException("The course list cannot be null.");
+		}
+		if (file == null) {
+			throw new IllegalArgumentException("The file cannot be null.");
+		}
+		Course[] courses = list.getCourse();
+		write(courses == null ? new Course[0] : courses, list.getMaxCourses(), file);
+	}
+
+	static void write(Course[] courses, int maxCourses, Path file) throws IOException {
+		Path target = file.toAbsolutePath();
+		Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+		try {
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+				DataOutputStream out = new DataOutputStream(
+						new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+				out.write(new byte[HEADER_SIZE]);
+				int[] positions = new int[courses.length];
+				long position = HEADER_SIZE;
+				for (int i = 0; i < courses.length; i++) {
+					if (position > Integer.MAX_VALUE) {
+						throw new IOException("The course snapshot is larger than 2 GB.");
+					}
+					positions[i] = (int) position;
+					position += writeCourse(out, courses[i]);
+				}
+				long offsets = position;
+				for (int p : positions) {
+					out.writeInt(p);
+				}
+				for (int row : sortedById(courses)) {
+					out.writeInt(row);
+				}
+				out.flush();
+				if (offsets + 8L * courses.length > Integer.MAX_VALUE) {
+					throw new IOException("The course snapshot is larger than 2 GB.");
+				}
+				ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+				header.putInt(MAGIC).putInt(VERSION).putInt(courses.length).putInt(maxCourses)
+						.putLong(offsets).putLong(offsets + 4L * courses.length).flip();
+				while (header.hasRemaining()) {
+					channel.write(header, header.position());
+				}
+				channel.force(true);
+			}
+			try {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Writes one course record.
+	 *
+	 * @return the number of bytes written
+	 */
+	private static int writeCourse(DataOutputStream out, Course course) throws IOException {
+		out.writeInt(course.getCredit());
+		return 4 + writeField(out, course.getId()) + writeField(out, course.getTitle())
+				+ writeField(out, course.getDepartment());
+	}
+
+	private static int writeField(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return 4;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+		return 4 + bytes.length;
+	}
+
+	/**
+	 * Returns the record numbers of courses sorted by their folded ID.
+	 */
+	private static Integer[] sortedById(Course[] courses) {
+		String[] keys = new String[courses.length];
+		Integer[] rows = new Integer[courses.length];
+		for (int i = 0; i < courses.length; i++) {
+			keys[i] = fold(courses[i].getId());
+			rows[i] = i;
+		}
+		Arrays.sort(rows, Comparator.comparing(row -> keys[row]));
+		return rows;
+	}
+
+	private static String fold(String id) {
+		char[] chars = new char[id.length()];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = CourseIdIndex.fold(id.charAt(i));
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * Returns the number of courses in the snapshot.
+	 *
+	 * @return the number of courses in the snapshot
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Returns the maximum number of courses of the list that was saved.
+	 *
+	 * @return the maximum number of courses, or Integer.MAX_VALUE if the list was unbounded
+	 */
+	public int getMaxCourses() {
+		return maxCourses;
+	}
+
+	/**
+	 * Decodes the course at a position of the saved list.
+	 *
+	 * @param index the position of the course
+	 * @return a new course with the values of the record
+	 * @throws IndexOutOfBoundsException if index is negative or not less than size()
+	 * @throws UncheckedIOException if the record is corrupted
+	 */
+	public Course get(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+		}
+		int position = record(index);
+		int credit = buffer.getInt(position);
+		position += 4;
+		int length = fieldLength(position);
+		String id = readField(position, length);
+		position += 4 + Math.max(length, 0);
+		length = fieldLength(position);
+		String title = readField(position, length);
+		position += 4 + Math.max(length, 0);
+		String department = readField(position, fieldLength(position));
+		if (credit <= 0 || !Course.isValidId(id) || title == null || title.trim().isEmpty()) {
+			throw corrupted();
+		}
+		return new Course(id, title, credit, department, null, -1);
+	}
+
+	/**
+	 * Returns the courses in the snapshot, in the order of the saved list.
+	 *
+	 * @return a new array with the courses, or null if the snapshot is empty
+	 */
+	public Course[] getCourse() {
+		if (count == 0) {
+			return null;
+		}
+		Course[] courses = new Course[count];
+		for (int i = 0; i < count; i++) {
+			courses[i] = get(i);
+		}
+		return courses;
+	}
+
+	/**
+	 * Searches for a course by its ID, ignoring case. Only the records
+	 * visited by the binary search are read, and only the found one is decoded.
+	 *
+	 * @param id the ID of the course to search for
+	 * @return the course with the specified ID, or null if not found
+	 * @throws IllegalArgumentException if the course ID is null
+	 * @throws UncheckedIOException if a record it reads is corrupted
+	 */
+	public Course searchCourse(String id) {
+		if (id == null) {
+			throw new IllegalArgumentException("The course ID cannot be null.");
+		}
+		int low = 0;
+		int high = count - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int row = buffer.getInt(ids + 4 * mid);
+			if (row < 0 || row >= count) {
+				throw corrupted();
+			}
+			int c = compareId(row, id);
+			if (c < 0) {
+				low = mid + 1;
+			} else if (c > 0) {
+				high = mid - 1;
+			} else {
+				return get(row);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Makes a new CourseList with the courses of the snapshot and the same
+	 * maximum number of courses. No course is read yet: the list decodes all
+	 * of them, without checking them again, when it first needs them, and
+	 * builds each of its indexes when it is first used. It keeps the snapshot
+	 * mapped until then.
+	 *
+	 * @return a new course list with the courses of the snapshot
+	 */
+	public CourseList toCourseList() {
+		return new CourseList(this);
+	}
+
+	/**
+	 * Compares the folded ID of a record with a folded ID, character by
+	 * character, in the order of the ID table. IDs in a snapshot are ASCII,
+	 * so each byte of the record is a character.
+	 */
+	private int compareId(int row, String id) {
+		int position = record(row) + 4;
+		int length = fieldLength(position);
+		position += 4;
+		int n = Math.min(length, id.length());
+		for (int i = 0; i < n; i++) {
+			char a = CourseIdIndex.fold((char) buffer.get(position + i));
+			char b = CourseIdIndex.fold(id.charAt(i));
+			if (a != b) {
+				return a - b;
+			}
+		}
+		return length - id.length();
+	}
+
+	/**
+	 * Returns the position of a record, after checking that it lies in the
+	 * record area and has room for the credits.
+	 */
+	private int record(int row) {
+		int position = buffer.getInt(offsets + 4 * row);
+		if (position < HEADER_SIZE || position > offsets - 4) {
+			throw corrupted();
+		}
+		return position;
+	}
+
+	/**
+	 * Returns the length of the field at a position, after checking that the
+	 * field ends in the record area.
+	 */
+	private int fieldLength(int position) {
+		if (position > offsets - 4) {
+			throw corrupted();
+		}
+		int length = buffer.getInt(position);
+		if (length < -1 || length > offsets - position - 4) {
+			throw corrupted();
+		}
+		return length;
+	}
+
+	private String readField(int position, int length) {
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		buffer.get(position + 4, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	static UncheckedIOException corrupted() {
+		return new UncheckedIOException(new IOException("The course snapshot is corrupted."));
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * @ (#) CreditIndex.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeMap;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * A histogram of the courses of a list by number of credits.
+ * <p>
+ * Each credit value that is in use has a bucket with its courses, so the
+ * highest, lowest or a range of credit values is found without looking at
+ * the courses of the other buckets.
+ */
+final class CreditIndex {
+	private final TreeMap<Integer, Set<Course>> buckets = new TreeMap<>();
+
+	/**
+	 * Adds a course to the bucket of a credit value.
+	 *
+	 * @param course the course to add
+	 * @param credit the number of credits of the course
+	 */
+	void add(Course course, int credit) {
+		buckets.computeIfAbsent(credit, c -> new CourseSet()).add(course);
+	}
+
+	/**
+	 * Removes a course from the bucket of a credit value.
+	 *
+	 * @param course the course to remove
+	 * @param credit the number of credits the course was added with
+	 */
+	void remove(Course course, int credit) {
+		Set<Course> bucket = buckets.get(credit);
+		if (bucket != null && bucket.remove(course) && bucket.isEmpty()) {
+			buckets.remove(credit);
+		}
+	}
+
+	/**
+	 * Returns the courses with the highest number of credits.
+	 *
+	 * @return the courses with the highest number of credits, empty if there are none
+	 */
+	Set<Course> highest() {
+		return buckets.isEmpty() ? Collections.emptySet() : buckets.lastEntry().getValue();
+	}
+
+	/**
+	 * Returns the courses with the lowest number of credits.
+	 *
+	 * @return the courses with the lowest number of credits, empty if there are none
+	 */
+	Set<Course> lowest() {
+		return buckets.isEmpty() ? Collections.emptySet() : buckets.firstEntry().getValue();
+	}
+
+	/**
+	 * Returns the buckets of the credit values in a range, in ascending order of credits.
+	 *
+	 * @param low the lowest number of credits, inclusive
+	 * @param high the highest number of credits, inclusive
+	 * @return the buckets of the credit values in the range
+	 */
+	Collection<Set<Course>> between(int low, int high) {
+		if (low > high) {
+			return Collections.emptyList();
+		}
+		return buckets.subMap(low, true, high, true).values();
+	}
+
+	/**
+	 * Returns all buckets in descending order of credits.
+	 *
+	 * @return the buckets from the highest to the lowest number of credits
+	 */
+	Collection<Set<Course>> descending() {
+		return buckets.descendingMap().values();
+	}
+}
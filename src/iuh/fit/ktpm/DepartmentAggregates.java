@@ -0,0 +1,128 @@
+/*
+ * @ (#) DepartmentAggregates.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * The credit aggregates of each department of a course list, kept up to date
+ * by listening to the list instead of being computed from its courses.
+ * <p>
+ * Each change of a course moves its credits between the aggregates of at
+ * most two departments, so keeping them costs a few map updates per change.
+ * The summary of a department is built when it is first read after a change
+ * and kept until the next one, so repeated reads return the same object;
+ * readers that race to build it build equal summaries.
+ * Departments are keyed by their key (see {@link CourseKeys}), and courses
+ * without a department are not counted.
+ */
+final class DepartmentAggregates implements CourseListener {
+	private final Map<String, Aggregate> departments = new HashMap<>();
+
+	@Override
+	public void courseAdded(Course course) {
+		add(course.departmentKey(), course.getDepartment(), course.getCredit());
+	}
+
+	@Override
+	public void courseDeleted(Course course) {
+		remove(course.departmentKey(), course.getCredit());
+	}
+
+	@Override
+	public void courseChanged(Course course, CourseField field, Object oldValue, Object newValue) {
+		if (field == CourseField.CREDIT) {
+			String key = course.departmentKey();
+			remove(key, (Integer) oldValue);
+			add(key, course.getDepartment(), (Integer) newValue);
+		} else if (field == CourseField.DEPARTMENT) {
+			remove(CourseKeys.text((String) oldValue), course.getCredit());
+			add(course.departmentKey(), course.getDepartment(), course.getCredit());
+		}
+	}
+
+	/**
+	 * Returns the summary of a department.
+	 *
+	 * @param key the key of the department
+	 * @return the summary, or null if the department has no courses
+	 */
+	DepartmentSummary get(String key) {
+		Aggregate aggregate = departments.get(key);
+		return aggregate == null ? null : aggregate.summary();
+	}
+
+	/**
+	 * Returns the summaries of all departments, in the order of their keys.
+	 *
+	 * @return a new array of summaries, empty if no course has a department
+	 */
+	DepartmentSummary[] all() {
+		return new TreeMap<>(departments).values().stream().map(Aggregate::summary)
+				.toArray(DepartmentSummary[]::new);
+	}
+
+	private void add(String key, String department, int credit) {
+		if (key == null) {
+			return;
+		}
+		Aggregate aggregate = departments.get(key);
+		if (aggregate == null) {
+			aggregate = new Aggregate(department);
+			departments.put(key, aggregate);
+		}
+		aggregate.count++;
+		aggregate.totalCredits += credit;
+		aggregate.credits.merge(credit, 1, Integer::sum);
+		aggregate.summary = null;
+	}
+
+	private void remove(String key, int credit) {
+		if (key == null) {
+			return;
+		}
+		Aggregate aggregate = departments.get(key);
+		if (--aggregate.count == 0) {
+			departments.remove(key);
+			return;
+		}
+		aggregate.totalCredits -= credit;
+		aggregate.credits.merge(credit, -1, (a, b) -> a + b == 0 ? null : a + b);
+		aggregate.summary = null;
+	}
+
+	/** The running totals of one department. */
+	private static final class Aggregate {
+		final String department;
+		int count;
+		long totalCredits;
+		final TreeMap<Integer, Integer> credits = new TreeMap<>();
+		/** The summary of the totals, or null if they changed since it was built. */
+		DepartmentSummary summary;
+
+		Aggregate(String department) {
+			this.department = department;
+		}
+
+		DepartmentSummary summary() {
+			DepartmentSummary s = summary;
+			if (s == null) {
+				s = summary = new DepartmentSummary(department, count, totalCredits, credits);
+			}
+			return s;
+		}
+	}
+}
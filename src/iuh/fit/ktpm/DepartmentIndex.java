@@ -0,0 +1,136 @@
+/*
+ * @ (#) DepartmentIndex.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * A secondary index from the department key (see {@link CourseKeys}) to its courses.
+ * <p>
+ * Besides the courses of each department, the index keeps the departments
+ * grouped by their number of courses, so the most frequent department is
+ * read from the largest group instead of counting every course again.
+ * Courses without a department are not indexed.
+ */
+final class DepartmentIndex {
+	private final Map<String, Set<Course>> departments = new HashMap<>();
+	/** The name shown for each key: the lower-cased department of the first course added under it. */
+	private final Map<String, String> names = new HashMap<>();
+	private final TreeMap<Integer, Set<String>> departmentsByCount = new TreeMap<>();
+
+	/**
+	 * Adds a course to the index under a department key.
+	 *
+	 * @param course the course to add
+	 * @param key the key of the department of the course, may be null
+	 * @param department the department of the course
+	 */
+	void add(Course course, String key, String department) {
+		if (key == null) {
+			return;
+		}
+		Set<Course> set = departments.get(key);
+		if (set == null) {
+			set = new CourseSet();
+			departments.put(key, set);
+			names.put(key, department.toLowerCase(Locale.ROOT));
+		}
+		moveCount(key, set.size(), set.size() + 1);
+		set.add(course);
+	}
+
+	/**
+	 * Removes a course from the index.
+	 *
+	 * @param course the course to remove
+	 * @param key the department key the course was added under, may be null
+	 */
+	void remove(Course course, String key) {
+		if (key == null) {
+			return;
+		}
+		Set<Course> set = departments.get(key);
+		if (set == null || !set.remove(course)) {
+			return;
+		}
+		moveCount(key, set.size() + 1, set.size());
+		if (set.isEmpty()) {
+			departments.remove(key);
+			names.remove(key);
+		}
+	}
+
+	/**
+	 * Returns the courses of a department.
+	 *
+	 * @param department the department, compared by its key
+	 * @return the courses of the department, empty if there are none
+	 */
+	Set<Course> get(String department) {
+		Set<Course> set = departments.get(CourseKeys.text(department));
+		return set == null ? Collections.emptySet() : Collections.unmodifiableSet(set);
+	}
+
+	/**
+	 * Returns the number of courses of a department.
+	 *
+	 * @param department the department, compared by its key
+	 * @return the number of courses of the department
+	 */
+	int count(String department) {
+		Set<Course> set = departments.get(CourseKeys.text(department));
+		return set == null ? 0 : set.size();
+	}
+
+	/**
+	 * Returns the departments that have the most courses.
+	 *
+	 * @return the keys of the departments with the most courses, empty if no course has a department
+	 */
+	Set<String> mostFrequent() {
+		Map.Entry<Integer, Set<String>> top = departmentsByCount.lastEntry();
+		return top == null ? Collections.emptySet() : Collections.unmodifiableSet(top.getValue());
+	}
+
+	/**
+	 * Returns the name to show for a department key: the lower-cased department
+	 * of the first course added under it, which keeps the diacritics that the
+	 * key drops.
+	 *
+	 * @param key a key returned by {@link #mostFrequent()}
+	 * @return the lower-cased department
+	 */
+	String name(String key) {
+		return names.get(key);
+	}
+
+	private void moveCount(String key, int from, int to) {
+		if (from > 0) {
+			Set<String> group = departmentsByCount.get(from);
+			group.remove(key);
+			if (group.isEmpty()) {
+				departmentsByCount.remove(from);
+			}
+		}
+		if (to > 0) {
+			departmentsByCount.computeIfAbsent(to, c -> new TreeSet<>()).add(key);
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * @ (#) DepartmentSummary.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * The courses and credits of one department of a course list at one time:
+ * the number of courses, the total and average number of credits, and how
+ * many courses have each number of credits.
+ * <p>
+ * A summary does not change; a later change of the list gives a new summary.
+ *
+ * @see CourseList#getDepartmentSummary(String)
+ */
+public final class DepartmentSummary {
+	/** The header of the rows written by {@link #toString()}. */
+	static final String HEADER = String.format("%-25s %-6s %-8s %-8s %s", "DEPARTMENT", "COUNT", "CREDITS", "AVERAGE",
+			"DISTRIBUTION");
+
+	private final String department;
+	private final int count;
+	private final long totalCredits;
+	private final SortedMap<Integer, Integer> creditDistribution;
+
+	/**
+	 * Constructs a summary.
+	 *
+	 * @param department the name of the department
+	 * @param count the number of courses
+	 * @param totalCredits the sum of the credits of the courses
+	 * @param creditDistribution the number of courses for each number of credits, copied
+	 */
+	DepartmentSummary(String department, int count, long totalCredits, SortedMap<Integer, Integer> creditDistribution) {
+		this.department = department;
+		this.count = count;
+		this.totalCredits = totalCredits;
+		this.creditDistribution = Collections.unmodifiableSortedMap(new TreeMap<>(creditDistribution));
+	}
+
+	/**
+	 * Returns the name of the department, as spelled by the first of its
+	 * courses added to the list.
+	 *
+	 * @return the name of the department
+	 */
+	public String getDepartment() {
+		return department;
+	}
+
+	/**
+	 * Returns the number of courses of the department.
+	 *
+	 * @return the number of courses
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the sum of the credits of the courses of the department.
+	 *
+	 * @return the total number of credits
+	 */
+	public long getTotalCredits() {
+		return totalCredits;
+	}
+
+	/**
+	 * Returns the average number of credits of the courses of the department.
+	 *
+	 * @return the average number of credits, 0 if the department has no courses
+	 */
+	public double getAverageCredits() {
+		return count == 0 ? 0 : (double) totalCredits / count;
+	}
+
+	/**
+	 * Returns how many courses of the department have each number of credits.
+	 *
+	 * @return an unmodifiable map from a number of credits to its number of
+	 *         courses, in increasing order of credits
+	 */
+	public SortedMap<Integer, Integer> getCreditDistribution() {
+		return creditDistribution;
+	}
+
+	/**
+	 * Returns a string representation of the summary, as a row of a report.
+	 *
+	 * @return the department, the number of courses, the total and average
+	 *         credits and the credit distribution
+	 */
+	@Override
+	public String toString() {
+		return String.format("%-25s %-6d %-8d %-8.2f %s", department, count, totalCredits, getAverageCredits(),
+				creditDistribution);
+	}
+}
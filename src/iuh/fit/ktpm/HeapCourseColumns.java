@@ -0,0 +1,252 @@
+/*
+ * @ (#) HeapCourseColumns.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * Course columns stored in primitive arrays on the Java heap.
+ * <p>
+ * IDs, which only contain ASCII letters and digits, are packed one byte per
+ * character into a shared byte array, and titles into a shared char array;
+ * each row keeps the start and length of its ID and title.
+ * <p>
+ * Changing or removing an ID or title leaves its old characters unused in
+ * the shared arrays; they are reclaimed by compacting the arrays when more
+ * than half of their contents is unused.
+ */
+final class HeapCourseColumns extends CourseColumns {
+	private static final int MIN_ROWS = 16;
+	private static final int MIN_COMPACT = 1 << 12;
+
+	private int size;
+	private int[] idStart = new int[MIN_ROWS];
+	private int[] idLength = new int[MIN_ROWS];
+	private int[] titleStart = new int[MIN_ROWS];
+	private int[] titleLength = new int[MIN_ROWS];
+	private int[] credits = new int[MIN_ROWS];
+	private int[] departments = new int[MIN_ROWS];
+
+	private byte[] idBytes = new byte[MIN_ROWS * 8];
+	private int idUsed;
+	private int idGarbage;
+	private char[] titleChars = new char[MIN_ROWS * 32];
+	private int titleUsed;
+	private int titleGarbage;
+
+	@Override
+	int size() {
+		return size;
+	}
+
+	@Override
+	int add(String id, String title, int credit, String department) {
+		if (size == credits.length) {
+			int capacity = size + (size >> 1);
+			idStart = Arrays.copyOf(idStart, capacity);
+			idLength = Arrays.copyOf(idLength, capacity);
+			titleStart = Arrays.copyOf(titleStart, capacity);
+			titleLength = Arrays.copyOf(titleLength, capacity);
+			credits = Arrays.copyOf(credits, capacity);
+			departments = Arrays.copyOf(departments, capacity);
+		}
+		int row = size++;
+		storeId(row, id);
+		storeTitle(row, title);
+		credits[row] = credit;
+		departments[row] = encode(department);
+		return row;
+	}
+
+	@Override
+	void removeSwap(int row) {
+		idGarbage += idLength[row];
+		titleGarbage += titleLength[row];
+		release(departments[row]);
+		int last = --size;
+		if (row != last) {
+			idStart[row] = idStart[last];
+			idLength[row] = idLength[last];
+			titleStart[row] = titleStart[last];
+			titleLength[row] = titleLength[last];
+			credits[row] = credits[last];
+			departments[row] = departments[last];
+		}
+		compactIfNeeded();
+	}
+
+	@Override
+	String id(int row) {
+		return new String(idBytes, idStart[row], idLength[row], StandardCharsets.ISO_8859_1);
+	}
+
+	@Override
+	String title(int row) {
+		return new String(titleChars, titleStart[row], titleLength[row]);
+	}
+
+	@Override
+	int credit(int row) {
+		return credits[row];
+	}
+
+	@Override
+	int departmentCode(int row) {
+		return departments[row];
+	}
+
+	@Override
+	void setId(int row, String id) {
+		idGarbage += idLength[row];
+		storeId(row, id);
+		compactIfNeeded();
+	}
+
+	@Override
+	void setTitle(int row, String title) {
+		titleGarbage += titleLength[row];
+		storeTitle(row, title);
+		compactIfNeeded();
+	}
+
+	@Override
+	void setCredit(int row, int credit) {
+		credits[row] = credit;
+	}
+
+	@Override
+	void setDepartmentCode(int row, int code) {
+		departments[row] = code;
+	}
+
+	@Override
+	int idHash(int row) {
+		int h = 0;
+		for (int i = idStart[row], end = i + idLength[row]; i < end; i++) {
+			h = 31 * h + CourseIdIndex.fold((char) idBytes[i]);
+		}
+		return h ^ (h >>> 16);
+	}
+
+	@Override
+	boolean idEquals(int row, String id) {
+		int start = idStart[row];
+		if (idLength[row] != id.length()) {
+			return false;
+		}
+		for (int i = 0; i < id.length(); i++) {
+			if (CourseIdIndex.fold((char) idBytes[start + i]) != CourseIdIndex.fold(id.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	boolean titleContains(int row, String query) {
+		if (query.isEmpty()) {
+			return true;
+		}
+		int end = titleStart[row] + titleLength[row];
+		char first = query.charAt(0);
+		for (int i = titleStart[row]; i < end; i++) {
+			if (CourseKeys.fold(titleChars[i]) != first) {
+				continue;
+			}
+			int j = 1;
+			for (int k = i + 1; j < query.length() && k < end; k++) {
+				char c = CourseKeys.fold(titleChars[k]);
+				if (c == 0) {
+					// A dropped combining mark.
+					continue;
+				}
+				if (c != query.charAt(j)) {
+					break;
+				}
+				j++;
+			}
+			if (j == query.length()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	void trimToSize() {
+		int capacity = Math.max(size, MIN_ROWS);
+		idStart = Arrays.copyOf(idStart, capacity);
+		idLength = Arrays.copyOf(idLength, capacity);
+		titleStart = Arrays.copyOf(titleStart, capacity);
+		titleLength = Arrays.copyOf(titleLength, capacity);
+		credits = Arrays.copyOf(credits, capacity);
+		departments = Arrays.copyOf(departments, capacity);
+		compact(0, 0);
+	}
+
+	private void storeId(int row, String id) {
+		if (idUsed + id.length() > idBytes.length) {
+			idBytes = Arrays.copyOf(idBytes, Math.max(idUsed + id.length(), idBytes.length + (idBytes.length >> 1)));
+		}
+		for (int i = 0; i < id.length(); i++) {
+			idBytes[idUsed + i] = (byte) id.charAt(i);
+		}
+		idStart[row] = idUsed;
+		idLength[row] = id.length();
+		idUsed += id.length();
+	}
+
+	private void storeTitle(int row, String title) {
+		if (titleUsed + title.length() > titleChars.length) {
+			titleChars = Arrays.copyOf(titleChars,
+					Math.max(titleUsed + title.length(), titleChars.length + (titleChars.length >> 1)));
+		}
+		title.getChars(0, title.length(), titleChars, titleUsed);
+		titleStart[row] = titleUsed;
+		titleLength[row] = title.length();
+		titleUsed += title.length();
+	}
+
+	private void compactIfNeeded() {
+		if (idGarbage > MIN_COMPACT && idGarbage * 2 > idUsed
+				|| titleGarbage > MIN_COMPACT && titleGarbage * 2 > titleUsed) {
+			compact(idBytes.length - idGarbage, titleChars.length - titleGarbage);
+		}
+	}
+
+	/**
+	 * Copies the IDs and titles of the rows, in row order, into new arrays.
+	 */
+	private void compact(int idCapacity, int titleCapacity) {
+		byte[] ids = new byte[Math.max(idCapacity, idUsed - idGarbage)];
+		char[] titles = new char[Math.max(titleCapacity, titleUsed - titleGarbage)];
+		int idNext = 0;
+		int titleNext = 0;
+		for (int row = 0; row < size; row++) {
+			System.arraycopy(idBytes, idStart[row], ids, idNext, idLength[row]);
+			idStart[row] = idNext;
+			idNext += idLength[row];
+			System.arraycopy(titleChars, titleStart[row], titles, titleNext, titleLength[row]);
+			titleStart[row] = titleNext;
+			titleNext += titleLength[row];
+		}
+		idBytes = ids;
+		idUsed = idNext;
+		idGarbage = 0;
+		titleChars = titles;
+		titleUsed = titleNext;
+		titleGarbage = 0;
+	}
+}
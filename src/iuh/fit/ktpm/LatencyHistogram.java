@@ -0,0 +1,110 @@
+/*
+ * @ (#) LatencyHistogram.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * A lock-free histogram of latencies in nanoseconds, with log-linear buckets
+ * in the manner of HdrHistogram.
+ * <p>
+ * Values below 64 ns have a bucket each. Above that, every power of two is
+ * split into 32 buckets, so a recorded value is known to about 3%. Values
+ * of about 69 seconds and more share the last bucket. Recording is one
+ * atomic increment, one add to a LongAdder and, rarely, an update of the
+ * maximum; it does not allocate.
+ */
+final class LatencyHistogram {
+	private static final int SUB_BITS = 5;
+	private static final long LARGEST = (1L << 36) - 1;
+	/** The number of buckets, enough for values up to {@link #LARGEST}. */
+	static final int BUCKETS = index(LARGEST) + 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final LongAdder total = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Records a latency.
+	 *
+	 * @param nanos the latency in nanoseconds; negative values count as 0
+	 */
+	void record(long nanos) {
+		long value = Math.max(0, nanos);
+		counts.incrementAndGet(index(Math.min(value, LARGEST)));
+		total.add(value);
+		long m = max.get();
+		while (value > m && !max.compareAndSet(m, value)) {
+			m = max.get();
+		}
+	}
+
+	/**
+	 * Copies the bucket counts into an array, which may be seen while other
+	 * threads are recording.
+	 *
+	 * @param into the array to fill, of {@link #BUCKETS} elements
+	 * @return the sum of the counts copied
+	 */
+	long copyCounts(long[] into) {
+		long n = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			into[i] = counts.get(i);
+			n += into[i];
+		}
+		return n;
+	}
+
+	long total() {
+		return total.sum();
+	}
+
+	long max() {
+		return max.get();
+	}
+
+	void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0);
+		}
+		total.reset();
+		max.set(0);
+	}
+
+	/**
+	 * Returns the bucket of a value: the value itself below 64, then 32
+	 * buckets for each power of two.
+	 */
+	static int index(long value) {
+		if (value < 2 << SUB_BITS) {
+			return (int) value;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+		return (shift << SUB_BITS) + (int) (value >>> shift);
+	}
+
+	/**
+	 * Returns the largest value that falls in a bucket.
+	 */
+	static long highestValue(int index) {
+		if (index < 2 << SUB_BITS) {
+			return index;
+		}
+		int shift = (index >> SUB_BITS) - 1;
+		long sub = index - ((long) shift << SUB_BITS);
+		return ((sub + 1) << shift) - 1;
+	}
+}
@@ -0,0 +1,324 @@
+/*
+ * @ (#) OffHeapCourseColumns.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * Course columns stored in direct byte buffers, outside the Java heap.
+ * <p>
+ * Each row is a fixed-width slot of {@value #SLOT_SIZE} bytes in a chunk of
+ * {@value #CHUNK_ROWS} slots: where its strings are, the lengths of its ID
+ * and title, its credits and its department code. The ID, one byte per
+ * character, and the title, two bytes per character, of a row are written
+ * together as one record in a string area of {@value #CHUNK_BYTES}-byte
+ * chunks; a record larger than that gets a chunk of its own. The garbage
+ * collector only sees a few buffer objects per chunk, however many courses
+ * there are.
+ * <p>
+ * Removing a row copies the slot of the last row into the freed slot, so
+ * slots are reused and stay dense. Changing or removing an ID or title
+ * leaves its old record unused in the string area; the area is compacted
+ * into new chunks when more than half of it is unused. The memory of a
+ * dropped chunk is returned when the garbage collector frees its buffer.
+ */
+final class OffHeapCourseColumns extends CourseColumns {
+	private static final int SLOT_SIZE = 24;
+	private static final int CHUNK_SHIFT = 14;
+	private static final int CHUNK_ROWS = 1 << CHUNK_SHIFT;
+	private static final int CHUNK_BYTES = 1 << 20;
+	private static final int MIN_COMPACT = 1 << 16;
+
+	// The fields of a slot.
+	private static final int STRING_CHUNK = 0;
+	private static final int STRING_OFFSET = 4;
+	private static final int ID_LENGTH = 8;
+	private static final int TITLE_LENGTH = 12;
+	private static final int CREDIT = 16;
+	private static final int DEPARTMENT = 20;
+
+	private int size;
+	private ByteBuffer[] slots = new ByteBuffer[4];
+	private int slotChunks;
+
+	private ArrayList<ByteBuffer> strings = new ArrayList<>();
+	private int stringUsed;
+	private long stringWritten;
+	private long stringGarbage;
+
+	@Override
+	int size() {
+		return size;
+	}
+
+	@Override
+	int add(String id, String title, int credit, String department) {
+		if (size == slotChunks << CHUNK_SHIFT) {
+			if (slotChunks == slots.length) {
+				slots = Arrays.copyOf(slots, slotChunks * 2);
+			}
+			slots[slotChunks++] = allocate(CHUNK_ROWS * SLOT_SIZE);
+		}
+		int row = size++;
+		store(row, id, title);
+		slot(row).putInt(at(row, CREDIT), credit);
+		slot(row).putInt(at(row, DEPARTMENT), encode(department));
+		return row;
+	}
+
+	@Override
+	void removeSwap(int row) {
+		stringGarbage += recordSize(row);
+		release(departmentCode(row));
+		int last = --size;
+		if (row != last) {
+			slot(row).put(at(row, 0), slot(last), at(last, 0), SLOT_SIZE);
+		}
+		compactIfNeeded();
+	}
+
+	@Override
+	String id(int row) {
+		byte[] bytes = new byte[idLength(row)];
+		string(row).get(stringOffset(row), bytes);
+		return new String(bytes, StandardCharsets.ISO_8859_1);
+	}
+
+	@Override
+	String title(int row) {
+		ByteBuffer string = string(row);
+		int start = stringOffset(row) + idLength(row);
+		char[] chars = new char[titleLength(row)];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = string.getChar(start + 2 * i);
+		}
+		return new String(chars);
+	}
+
+	@Override
+	int credit(int row) {
+		return slot(row).getInt(at(row, CREDIT));
+	}
+
+	@Override
+	int departmentCode(int row) {
+		return slot(row).getInt(at(row, DEPARTMENT));
+	}
+
+	@Override
+	void setId(int row, String id) {
+		String title = title(row);
+		stringGarbage += recordSize(row);
+		store(row, id, title);
+		compactIfNeeded();
+	}
+
+	@Override
+	void setTitle(int row, String title) {
+		String id = id(row);
+		stringGarbage += recordSize(row);
+		store(row, id, title);
+		compactIfNeeded();
+	}
+
+	@Override
+	void setCredit(int row, int credit) {
+		slot(row).putInt(at(row, CREDIT), credit);
+	}
+
+	@Override
+	void setDepartmentCode(int row, int code) {
+		slot(row).putInt(at(row, DEPARTMENT), code);
+	}
+
+	@Override
+	int idHash(int row) {
+		ByteBuffer string = string(row);
+		int h = 0;
+		for (int i = stringOffset(row), end = i + idLength(row); i < end; i++) {
+			h = 31 * h + CourseIdIndex.fold((char) string.get(i));
+		}
+		return h ^ (h >>> 16);
+	}
+
+	@Override
+	boolean idEquals(int row, String id) {
+		if (idLength(row) != id.length()) {
+			return false;
+		}
+		ByteBuffer string = string(row);
+		int start = stringOffset(row);
+		for (int i = 0; i < id.length(); i++) {
+			if (CourseIdIndex.fold((char) string.get(start + i)) != CourseIdIndex.fold(id.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	boolean titleContains(int row, String query) {
+		if (query.isEmpty()) {
+			return true;
+		}
+		ByteBuffer string = string(row);
+		int start = stringOffset(row) + idLength(row);
+		int end = start + 2 * titleLength(row);
+		char first = query.charAt(0);
+		for (int i = start; i < end; i += 2) {
+			if (CourseKeys.fold(string.getChar(i)) != first) {
+				continue;
+			}
+			int j = 1;
+			for (int k = i + 2; j < query.length() && k < end; k += 2) {
+				char c = CourseKeys.fold(string.getChar(k));
+				if (c == 0) {
+					// A dropped combining mark.
+					continue;
+				}
+				if (c != query.charAt(j)) {
+					break;
+				}
+				j++;
+			}
+			if (j == query.length()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Drops the slot chunks after the last row, and compacts the string area
+	 * into chunks no larger than the records in use.
+	 */
+	@Override
+	void trimToSize() {
+		int used = (size + CHUNK_ROWS - 1) >>> CHUNK_SHIFT;
+		Arrays.fill(slots, used, slotChunks, null);
+		slotChunks = used;
+		compact(true);
+	}
+
+	private ByteBuffer slot(int row) {
+		return slots[row >>> CHUNK_SHIFT];
+	}
+
+	private static int at(int row, int field) {
+		return (row & (CHUNK_ROWS - 1)) * SLOT_SIZE + field;
+	}
+
+	private ByteBuffer string(int row) {
+		return strings.get(slot(row).getInt(at(row, STRING_CHUNK)));
+	}
+
+	private int stringOffset(int row) {
+		return slot(row).getInt(at(row, STRING_OFFSET));
+	}
+
+	private int idLength(int row) {
+		return slot(row).getInt(at(row, ID_LENGTH));
+	}
+
+	private int titleLength(int row) {
+		return slot(row).getInt(at(row, TITLE_LENGTH));
+	}
+
+	private long recordSize(int row) {
+		return idLength(row) + 2L * titleLength(row);
+	}
+
+	/**
+	 * Writes the ID and title of a row as a new record at the end of the
+	 * string area, and points the slot of the row at it.
+	 */
+	private void store(int row, String id, String title) {
+		int length = id.length() + 2 * title.length();
+		ByteBuffer string = reserve(length);
+		int start = stringUsed;
+		for (int i = 0; i < id.length(); i++) {
+			string.put(start + i, (byte) id.charAt(i));
+		}
+		for (int i = 0, at = start + id.length(); i < title.length(); i++, at += 2) {
+			string.putChar(at, title.charAt(i));
+		}
+		stringUsed += length;
+		stringWritten += length;
+		ByteBuffer slot = slot(row);
+		slot.putInt(at(row, STRING_CHUNK), strings.size() - 1);
+		slot.putInt(at(row, STRING_OFFSET), start);
+		slot.putInt(at(row, ID_LENGTH), id.length());
+		slot.putInt(at(row, TITLE_LENGTH), title.length());
+	}
+
+	/**
+	 * Returns the last string chunk, after starting a new one if the last one
+	 * does not have room for a record.
+	 */
+	private ByteBuffer reserve(int length) {
+		if (strings.isEmpty() || stringUsed + length > strings.get(strings.size() - 1).capacity()) {
+			strings.add(allocate(Math.max(length, CHUNK_BYTES)));
+			stringUsed = 0;
+		}
+		return strings.get(strings.size() - 1);
+	}
+
+	private void compactIfNeeded() {
+		if (stringGarbage > MIN_COMPACT && stringGarbage * 2 > stringWritten) {
+			compact(false);
+		}
+	}
+
+	/**
+	 * Copies the records of the rows, in row order, into new string chunks.
+	 *
+	 * @param exact whether the last chunk should only be as large as the records in it
+	 */
+	private void compact(boolean exact) {
+		ArrayList<ByteBuffer> old = strings;
+		strings = new ArrayList<>();
+		stringUsed = 0;
+		long remaining = stringWritten - stringGarbage;
+		for (int row = 0; row < size; row++) {
+			ByteBuffer from = old.get(slot(row).getInt(at(row, STRING_CHUNK)));
+			int start = stringOffset(row);
+			int length = (int) recordSize(row);
+			ByteBuffer to;
+			if (!strings.isEmpty() && stringUsed + length <= strings.get(strings.size() - 1).capacity()) {
+				to = strings.get(strings.size() - 1);
+			} else {
+				int capacity = exact ? (int) Math.min(Math.max(remaining, length), CHUNK_BYTES) : CHUNK_BYTES;
+				to = allocate(Math.max(length, capacity));
+				strings.add(to);
+				stringUsed = 0;
+			}
+			to.put(stringUsed, from, start, length);
+			ByteBuffer slot = slot(row);
+			slot.putInt(at(row, STRING_CHUNK), strings.size() - 1);
+			slot.putInt(at(row, STRING_OFFSET), stringUsed);
+			stringUsed += length;
+			remaining -= length;
+		}
+		stringWritten -= stringGarbage;
+		stringGarbage = 0;
+	}
+
+	private static ByteBuffer allocate(int capacity) {
+		return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+	}
+}
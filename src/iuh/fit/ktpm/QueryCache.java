@@ -0,0 +1,134 @@
+/*
+ * @ (#) QueryCache.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * A bounded cache of the results of the title and department searches of a
+ * {@link CourseList}, keyed on the kind of search and the normalized query.
+ * <p>
+ * Each result is stamped with the modification count of the list when it was
+ * computed. A result whose stamp is older than the list is never returned:
+ * it is dropped and counted as a miss. When the cache is full, the least
+ * recently used result is evicted. Hits, misses and evictions are counted in
+ * the {@link CourseMetrics} of the list.
+ * <p>
+ * The methods are synchronized, because the searches of a
+ * {@link ConcurrentCourseList} share the cache under its read lock.
+ */
+final class QueryCache {
+	/** The kinds of cached searches. */
+	enum Kind {
+		TITLE,
+		DEPARTMENT
+	}
+
+	private final CourseMetrics metrics;
+	private final Map<Key, Entry> entries;
+
+	/**
+	 * Constructs an empty cache.
+	 *
+	 * @param capacity the maximum number of results, at least 1
+	 * @param metrics the metrics that count hits, misses and evictions
+	 */
+	QueryCache(int capacity, CourseMetrics metrics) {
+		this.metrics = metrics;
+		this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				if (size() > capacity) {
+					metrics.count(CourseMetrics.Counter.CACHE_EVICTION);
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached result of a search.
+	 *
+	 * @param kind the kind of search
+	 * @param query the normalized query
+	 * @param version the current modification count of the list
+	 * @return the cached result, which must not be changed, or null if it is
+	 *         not cached or the list changed since it was
+	 */
+	synchronized Course[] get(Kind kind, String query, int version) {
+		Key key = new Key(kind, query);
+		Entry entry = entries.get(key);
+		if (entry == null || entry.version != version) {
+			if (entry != null) {
+				entries.remove(key);
+			}
+			metrics.count(CourseMetrics.Counter.CACHE_MISS);
+			return null;
+		}
+		metrics.count(CourseMetrics.Counter.CACHE_HIT);
+		return entry.result;
+	}
+
+	/**
+	 * Caches the result of a search.
+	 *
+	 * @param kind the kind of search
+	 * @param query the normalized query
+	 * @param version the modification count of the list the result was computed on
+	 * @param result the result, which the cache keeps and must not be changed
+	 */
+	synchronized void put(Kind kind, String query, int version, Course[] result) {
+		entries.put(new Key(kind, query), new Entry(version, result));
+	}
+
+	/** The kind and query of a search. */
+	private static final class Key {
+		final Kind kind;
+		final String query;
+
+		Key(Kind kind, String query) {
+			this.kind = kind;
+			this.query = query;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return kind == other.kind && query.equals(other.query);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * kind.hashCode() + query.hashCode();
+		}
+	}
+
+	/** A cached result and the version of the list it was computed on. */
+	private static final class Entry {
+		final int version;
+		final Course[] result;
+
+		Entry(int version, Course[] result) {
+			this.version = version;
+			this.result = result;
+		}
+	}
+}
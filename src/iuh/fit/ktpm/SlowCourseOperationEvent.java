@@ -0,0 +1,41 @@
+/*
+ * @ (#) SlowCourseOperationEvent.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * A Java Flight Recorder event for an operation of a course list that took
+ * longer than the slow threshold of its {@link CourseMetrics}.
+ * <p>
+ * The event is begun when the operation starts and ended when it returns,
+ * so its start time and duration are those of the operation. It is only
+ * created while a recording has it enabled, for example with
+ * {@code -XX:StartFlightRecording}, and only committed for slow operations.
+ */
+@Name("iuh.fit.ktpm.SlowCourseOperation")
+@Label("Slow Course Operation")
+@Category("Course List")
+@Description("An operation of a course list that took longer than the slow threshold")
+final class SlowCourseOperationEvent extends jdk.jfr.Event {
+	@Label("Operation")
+	String operation;
+
+	@Label("Courses")
+	@Description("The number of courses in the list after the operation")
+	int courses;
+}
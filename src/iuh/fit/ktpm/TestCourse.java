@@ -6,7 +6,17 @@
 
 package iuh.fit.ktpm;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.InputMismatchException;
+import java.util.function.IntFunction;
 /*
  * @description
  * @author: Pham Thanh Huy
@@ -20,15 +30,27 @@ import java.util.Scanner;
  * It allows users to add, display, delete, search, and sort courses.
  */
 public class TestCourse {
+    /** The file the courses are saved to on exit and loaded from on start. */
+    private static final Path SNAPSHOT = Paths.get("courses.snapshot");
+    /** The number of courses shown at a time by the listings. */
+    private static final int PAGE_SIZE = 20;
+
     /**
      * The main method is the entry point of the application.
      * It presents a menu to the user and performs actions based on user input.
+     * With the arguments {@code --batch [file]}, it runs the commands of a script
+     * from the file, or from the standard input, without the menu; see {@link CourseBatch}.
      *
-     * @param args command-line arguments (not used)
+     * @param args command-line arguments
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            runBatch(args.length > 1 ? args[1] : null);
+            return;
+        }
+
         Scanner scanner = new Scanner(System.in);
-        CourseList courseList = new CourseList(10); // Create a CourseList with a maximum of 10 courses
+        CourseList courseList = loadCourses(); // A CourseList that grows as courses are added
  
         while (true) {
             System.out.println("== Menu ==");
@@ -41,6 +63,8 @@ public class TestCourse {
             System.out.println("7. Sắp xếp khóa học theo tên");
             System.out.println("8. Tìm tín chỉ lớn nhất");
             System.out.println("9. Tìm phòng ban có số lượng khóa học nhiều nhất");
+            System.out.println("10. Thống kê thời gian các thao tác");
+            System.out.println("11. Thống kê tín chỉ theo phòng ban");
             System.out.println("0. Thoát");
 
             int option = -1;
@@ -101,16 +125,10 @@ public class TestCourse {
                     break;
                 }
                 case 2: {
-                    Course[] courses = courseList.getCourse();
-                    if (courses != null) {
+                    if (courseList.size() > 0) {
                         System.out.println("Danh sách khóa học: ");
-                        System.out.println(String.format("%-10s %-25s %-6s %-20s", "ID", "TITLE", "CREDIT", "DEPARTMENT"));
-
-                        for (Course course : courses) {
-                            if (course != null) {
-                                System.out.println(course);
-                            }
-                        }
+                        printPages(scanner, courseList.size(),
+                                offset -> courseList.stream().skip(offset).limit(PAGE_SIZE).toArray(Course[]::new));
                     }
                     else {
                         System.out.println("Danh sách khóa học trống.");
@@ -153,6 +171,14 @@ public class TestCourse {
                         }
                     } else {
                         System.out.println("Không tìm thấy khóa học với tiêu chí đã cho.");
+                        Course[] similar = courseList.searchCourseFuzzy(searchTitle, 2, 10);
+                        if (similar.length > 0) {
+                            System.out.println("Có phải bạn muốn tìm:");
+                            System.out.println(String.format("%-10s %-25s %-6s %-20s", "ID", "TITLE", "CREDIT", "DEPARTMENT"));
+                            for (Course c : similar) {
+                                System.out.println(c);
+                            }
+                        }
                     }
                     break;
 
@@ -171,12 +197,9 @@ public class TestCourse {
                     break;
 
                 case 7:
-                    Course[] sortedCourses = courseList.sortName();
-                    if (sortedCourses != null) {
-                        System.out.println(String.format("%-10s %-25s %-6s %-20s", "ID", "TITLE", "CREDIT", "DEPARTMENT"));
-                        for (Course c : sortedCourses) {
-                            System.out.println(c);
-                        }
+                    if (courseList.size() > 0) {
+                        printPages(scanner, courseList.size(),
+                                offset -> courseList.page(CourseOrder.TITLE, offset, PAGE_SIZE));
                     } else {
                         System.out.println("Danh sách khóa học trống.");
                     }
@@ -207,7 +230,29 @@ public class TestCourse {
                     }
                     break;
 
+                case 10:
+                    System.out.print(courseList.getMetrics().snapshot());
+                    break;
+
+                case 11:
+                    DepartmentSummary[] summaries = courseList.getDepartmentSummaries();
+                    if (summaries.length > 0) {
+                        System.out.println(DepartmentSummary.HEADER);
+                        for (DepartmentSummary summary : summaries) {
+                            System.out.println(summary);
+                        }
+                    } else {
+                        System.out.println("Danh sách khóa học trống.");
+                    }
+                    break;
+
                 case 0:
+                    try {
+                        courseList.save(SNAPSHOT);
+                        System.out.println("Đã lưu danh sách khóa học vào " + SNAPSHOT + ".");
+                    } catch (IOException e) {
+                        System.out.println("Lỗi: Không thể lưu danh sách khóa học: " + e.getMessage());
+                    }
                     System.out.println("Thoát chương trình.");
                     scanner.close();
                     System.exit(0);
@@ -219,5 +264,62 @@ public class TestCourse {
             }
         }
     }
-}
 
+    /**
+     * Prints courses one page at a time, and asks before each next page.
+     *
+     * @param scanner the scanner to read the answer from
+     * @param total the number of courses to print
+     * @param pages returns the page of courses that starts at an offset
+     */
+    private static void printPages(Scanner scanner, int total, IntFunction<Course[]> pages) {
+        System.out.println(String.format("%-10s %-25s %-6s %-20s", "ID", "TITLE", "CREDIT", "DEPARTMENT"));
+        for (int offset = 0; offset < total; offset += PAGE_SIZE) {
+            for (Course course : pages.apply(offset)) {
+                System.out.println(course);
+            }
+            if (offset + PAGE_SIZE < total) {
+                System.out.print("Trang " + (offset / PAGE_SIZE + 1) + "/" + ((total + PAGE_SIZE - 1) / PAGE_SIZE)
+                        + ". Nhấn Enter để xem trang tiếp theo, nhập q để dừng: ");
+                if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads the courses saved by the previous run, if any.
+     *
+     * @return the saved courses, or an empty list if there is no snapshot or it cannot be read
+     */
+    private static CourseList loadCourses() {
+        if (Files.exists(SNAPSHOT)) {
+            try {
+                return CourseList.load(SNAPSHOT);
+            } catch (IOException e) {
+                System.out.println("Lỗi: Không thể đọc " + SNAPSHOT + ": " + e.getMessage());
+            }
+        }
+        return new CourseList();
+    }
+
+    /**
+     * Runs a command script on the saved courses and saves them afterwards.
+     *
+     * @param script the script file, or null to read the standard input
+     */
+    private static void runBatch(String script) {
+        CourseList courseList = loadCourses();
+        BufferedWriter out = new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16);
+        try (BufferedReader in = script == null
+                ? new BufferedReader(new InputStreamReader(System.in), 1 << 16)
+                : Files.newBufferedReader(Paths.get(script), StandardCharsets.UTF_8)) {
+            new CourseBatch(courseList, out).run(in);
+            courseList.save(SNAPSHOT);
+        } catch (IOException e) {
+            System.out.println("Lỗi: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
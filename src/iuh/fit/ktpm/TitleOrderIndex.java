@@ -0,0 +1,106 @@
+/*
+ * @ (#) TitleOrderIndex.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.TreeMap;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * The courses of a list kept sorted by title, and then by ID if titles are the same.
+ * <p>
+ * Each course is stored under a copy of its title and ID, so a course can be
+ * moved to its new place before its own title or ID changes.
+ */
+final class TitleOrderIndex {
+	private final TreeMap<Key, Course> courses = new TreeMap<>();
+
+	/**
+	 * Adds a course to the index.
+	 *
+	 * @param title the title of the course
+	 * @param id the ID of the course
+	 * @param course the course to add
+	 */
+	void add(String title, String id, Course course) {
+		courses.put(new Key(title, id), course);
+	}
+
+	/**
+	 * Removes a course from the index.
+	 *
+	 * @param title the title the course was added under
+	 * @param id the ID the course was added under
+	 */
+	void remove(String title, String id) {
+		courses.remove(new Key(title, id));
+	}
+
+	/**
+	 * Returns the courses in order.
+	 *
+	 * @return a view of the courses in order
+	 */
+	Collection<Course> values() {
+		return courses.values();
+	}
+
+	/**
+	 * Returns the courses that come after a title and ID, in order.
+	 *
+	 * @param title the title to start after
+	 * @param id the ID to start after
+	 * @return a view of the courses after the title and ID
+	 */
+	Collection<Course> valuesAfter(String title, String id) {
+		return courses.tailMap(new Key(title, id), false).values();
+	}
+
+	/**
+	 * Copies at most limit courses, skipping the first offset courses of an ordered view.
+	 *
+	 * @param view the ordered courses
+	 * @param offset the number of courses to skip
+	 * @param limit the maximum number of courses to copy
+	 * @return a new array with the courses of the page
+	 */
+	static Course[] page(Collection<Course> view, int offset, int limit) {
+		ArrayList<Course> page = new ArrayList<>(Math.min(limit, 1024));
+		Iterator<Course> it = view.iterator();
+		for (int i = 0; i < offset && it.hasNext(); i++) {
+			it.next();
+		}
+		while (page.size() < limit && it.hasNext()) {
+			page.add(it.next());
+		}
+		return page.toArray(new Course[page.size()]);
+	}
+
+	private static final class Key implements Comparable<Key> {
+		private final String title;
+		private final String id;
+
+		Key(String title, String id) {
+			this.title = title;
+			this.id = id;
+		}
+
+		@Override
+		public int compareTo(Key o) {
+			int c = title.compareTo(o.title);
+			return c != 0 ? c : id.compareTo(o.id);
+		}
+	}
+}
@@ -0,0 +1,477 @@
+/*
+ * @ (#) TitleTokenIndex.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * An index of the words (tokens) of the title keys of the courses, for
+ * searches that tolerate typos.
+ * <p>
+ * A token is a run of letters and digits of a title key (see
+ * {@link CourseKeys}), and each distinct token maps to the courses whose title
+ * has it. Titles share most of their words, so there are far fewer tokens
+ * than courses. The tokens are kept in a trie, and a search for the tokens
+ * within k edits of a query token runs a Levenshtein automaton over it: it
+ * computes one row of the edit distance table for each character on the way
+ * down, so the tokens with a common prefix share its rows. Once no entry of a
+ * row is k or less, no token below that node can be near the query and the
+ * search does not go down it. So a search reads a small part of the tokens
+ * and never compares whole titles.
+ * <p>
+ * Searches do not change the index, so they can run concurrently with each
+ * other.
+ */
+final class TitleTokenIndex {
+	private final Node root = new Node();
+
+	/**
+	 * Adds a course to the index under a title key.
+	 *
+	 * @param course the course to add
+	 * @param key the key of the title of the course
+	 */
+	void add(Course course, String key) {
+		for (int i = 0; i < key.length(); ) {
+			int end = tokenEnd(key, i);
+			if (end > i) {
+				Node node = root;
+				for (int j = i; j < end; j++) {
+					Node child = node.child(key.charAt(j));
+					node = child != null ? child : node.add(key.charAt(j));
+				}
+				if (node.courses == null) {
+					node.token = key.substring(i, end);
+					node.courses = new CourseSet();
+				}
+				node.courses.add(course);
+			}
+			i = end + 1;
+		}
+	}
+
+	/**
+	 * Removes a course from the index, and the nodes of the tokens that no
+	 * other course has.
+	 *
+	 * @param course the course to remove
+	 * @param key the title key the course was added under
+	 */
+	void remove(Course course, String key) {
+		for (int i = 0; i < key.length(); ) {
+			int end = tokenEnd(key, i);
+			if (end > i) {
+				Node node = root;
+				for (int j = i; j < end && node != null; j++) {
+					node = node.child(key.charAt(j));
+				}
+				if (node != null && node.courses != null && node.courses.remove(course) && node.courses.isEmpty()) {
+					node.token = null;
+					node.courses = null;
+					if (node.size == 0) {
+						prune(key, i, end);
+					}
+				}
+			}
+			i = end + 1;
+		}
+	}
+
+	/**
+	 * Removes the nodes of a token that no course has, up to the last node of
+	 * its path that is still needed by another token.
+	 */
+	private void prune(String key, int start, int end) {
+		Node keep = root;
+		char cut = key.charAt(start);
+		Node node = root;
+		for (int j = start; j < end; j++) {
+			if (node.courses != null || node.size > 1) {
+				keep = node;
+				cut = key.charAt(j);
+			}
+			node = node.child(key.charAt(j));
+		}
+		keep.remove(cut);
+	}
+
+	/**
+	 * Finds the courses with a title that has, for every token of a query, a
+	 * token within a number of edits of it. Short tokens allow fewer edits, see
+	 * {@link #allowedEdits(int, int)}. The score of a course is the sum of the
+	 * edits of its nearest token for every query token.
+	 * <p>
+	 * The courses of the near tokens of one query token are walked, from the
+	 * nearest tokens to the farthest, and the other query tokens are measured
+	 * against the title key of each course. The walk stops once limit courses
+	 * have a score that no course still to walk can beat, so a search for the
+	 * best few courses does not score every course that matches.
+	 *
+	 * @param query the normalized query
+	 * @param maxDistance the largest number of edits allowed for a token
+	 * @param limit the maximum number of courses to return
+	 * @return the matching courses with the lowest scores, lowest first; courses
+	 *         with the same score are in no particular order
+	 */
+	List<Match> search(String query, int maxDistance, int limit) {
+		List<Pattern> patterns = new ArrayList<>();
+		List<List<Term>> terms = new ArrayList<>();
+		for (int i = 0; i < query.length(); ) {
+			int end = tokenEnd(query, i);
+			if (end > i) {
+				Pattern pattern = new Pattern(query.substring(i, end), maxDistance);
+				List<Term> found = near(pattern.token, pattern.edits);
+				if (found.isEmpty()) {
+					return new ArrayList<>();
+				}
+				patterns.add(pattern);
+				terms.add(found);
+			}
+			i = end + 1;
+		}
+		List<Match> matches = new ArrayList<>();
+		if (terms.isEmpty() || limit == 0) {
+			return matches;
+		}
+
+		// The walk starts from the nearest tokens, which give the lowest scores, so
+		// it is cheapest from the query token whose nearest tokens have the fewest courses.
+		int base = 0;
+		long fewest = Long.MAX_VALUE;
+		int others = 0;
+		int highest = 0;
+		for (int t = 0; t < terms.size(); t++) {
+			List<Term> found = terms.get(t);
+			long n = 0;
+			for (Term term : found) {
+				if (term.distance == found.get(0).distance) {
+					n += term.courses.size();
+				}
+			}
+			if (n < fewest) {
+				fewest = n;
+				base = t;
+			}
+			others += found.get(0).distance;
+			highest += found.get(found.size() - 1).distance;
+		}
+		Pattern walked = patterns.get(base);
+		others -= terms.get(base).get(0).distance;
+		// counts[d] is the number of matches with a score of d.
+		int[] counts = new int[highest + 1];
+		for (Term term : terms.get(base)) {
+			// No course from here on scores below this.
+			int bound = term.distance + others;
+			courses:
+			for (Course course : term.courses) {
+				// The other tokens are measured on the title key itself, which is one
+				// read per course instead of a lookup in the courses of every near token.
+				String key = course.titleKey();
+				// A course with two near tokens is taken once, under the first of them in its title.
+				int at = walked.nearest(key);
+				if (walked.distance != term.distance || !key.startsWith(term.token, at)
+						|| tokenEnd(key, at) != at + term.token.length()) {
+					continue;
+				}
+				int distance = term.distance;
+				for (int t = 0; t < patterns.size(); t++) {
+					if (t != base) {
+						Pattern pattern = patterns.get(t);
+						pattern.nearest(key);
+						if (pattern.distance > pattern.edits) {
+							continue courses;
+						}
+						distance += pattern.distance;
+					}
+				}
+				matches.add(new Match(course, distance));
+				counts[distance]++;
+				if (distance <= bound && atMost(counts, bound) >= limit) {
+					break;
+				}
+			}
+			if (atMost(counts, bound) >= limit) {
+				break;
+			}
+		}
+		matches.sort((a, b) -> Integer.compare(a.distance, b.distance));
+		return matches.size() > limit ? matches.subList(0, limit) : matches;
+	}
+
+	/** Returns the number of matches with a score of at most d. */
+	private static int atMost(int[] counts, int d) {
+		int n = 0;
+		for (int i = 0; i <= d; i++) {
+			n += counts[i];
+		}
+		return n;
+	}
+
+	/**
+	 * Returns the number of edits allowed for a query token: none for one or
+	 * two characters, at most one up to five characters and at most two up to
+	 * eight, so that short words do not match most other short words.
+	 */
+	static int allowedEdits(int length, int maxDistance) {
+		return Math.min(maxDistance, length / 3);
+	}
+
+	/**
+	 * Finds the tokens within a number of edits of a query token.
+	 *
+	 * @return the tokens and their courses, nearest first, and those with fewer courses first among them
+	 */
+	private List<Term> near(String token, int maxDistance) {
+		List<Term> found = new ArrayList<>();
+		// A token more than maxDistance characters longer than the query is too far,
+		// so the walk never goes deeper than this.
+		int[][] rows = new int[token.length() + maxDistance + 2][token.length() + 1];
+		for (int j = 0; j <= token.length(); j++) {
+			rows[0][j] = j;
+		}
+		near(root, 0, token, maxDistance, rows, found);
+		found.sort((a, b) -> a.distance != b.distance ? Integer.compare(a.distance, b.distance)
+				: Integer.compare(a.courses.size(), b.courses.size()));
+		return found;
+	}
+
+	/**
+	 * Walks the children of a node, whose row of the table is rows[depth].
+	 */
+	private static void near(Node node, int depth, String token, int maxDistance, int[][] rows, List<Term> found) {
+		int[] row = rows[depth + 1];
+		for (int i = 0; i < node.size; i++) {
+			Node child = node.children[i];
+			int min = step(token, node.labels[i], rows[depth], row);
+			int d = row[token.length()];
+			if (child.courses != null && d <= maxDistance) {
+				found.add(new Term(child.token, child.courses, d));
+			}
+			if (min <= maxDistance) {
+				near(child, depth + 1, token, maxDistance, rows, found);
+			}
+		}
+	}
+
+	/**
+	 * Computes the next row of the edit distance table of a query token.
+	 *
+	 * @return the smallest entry of the row
+	 */
+	private static int step(String token, char c, int[] previous, int[] row) {
+		row[0] = previous[0] + 1;
+		int min = row[0];
+		for (int j = 1; j < row.length; j++) {
+			int replace = previous[j - 1] + (token.charAt(j - 1) == c ? 0 : 1);
+			row[j] = Math.min(replace, Math.min(previous[j], row[j - 1]) + 1);
+			min = Math.min(min, row[j]);
+		}
+		return min;
+	}
+
+	/**
+	 * Returns the end of the token that starts at an index of a key, the index
+	 * itself if the character there does not belong to a token.
+	 */
+	private static int tokenEnd(String key, int i) {
+		while (i < key.length() && Character.isLetterOrDigit(key.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * A token of a query, measured against the tokens of a title key with the
+	 * bit-parallel edit distance of Myers, as adapted by Hyyrö: one word-wide
+	 * step per character of the title token, for query tokens of up to 64
+	 * characters. Longer query tokens use the edit distance table.
+	 * <p>
+	 * A pattern keeps the result of its last measure, so it belongs to one search.
+	 */
+	private static final class Pattern {
+		final String token;
+		/** The number of edits allowed for the token. */
+		final int edits;
+		/** For each ASCII character, the bits of the positions where the token has it. */
+		private final long[] ascii = new long[128];
+		/** The distance found by the last call of {@link #nearest(String)}. */
+		int distance;
+
+		Pattern(String token, int maxDistance) {
+			this.token = token;
+			this.edits = allowedEdits(token.length(), maxDistance);
+			for (int i = 0; i < Math.min(token.length(), Long.SIZE); i++) {
+				char c = token.charAt(i);
+				if (c < 128) {
+					ascii[c] |= 1L << i;
+				}
+			}
+		}
+
+		/**
+		 * Finds the token of a title key nearest to this one and keeps its
+		 * distance in {@link #distance}, or a distance above the allowed edits if
+		 * no token is near enough.
+		 *
+		 * @return the index of the first nearest token in the key
+		 */
+		int nearest(String key) {
+			distance = edits + 1;
+			int at = -1;
+			for (int i = 0; i < key.length() && distance > 0; ) {
+				int end = tokenEnd(key, i);
+				if (end > i && Math.abs(end - i - token.length()) <= edits) {
+					int d = to(key, i, end);
+					if (d < distance) {
+						distance = d;
+						at = i;
+					}
+				}
+				i = end + 1;
+			}
+			return at;
+		}
+
+		private int to(String key, int from, int to) {
+			int m = token.length();
+			if (m > Long.SIZE) {
+				int[] row = new int[m + 1];
+				int[] next = new int[m + 1];
+				for (int j = 0; j <= m; j++) {
+					row[j] = j;
+				}
+				for (int i = from; i < to; i++) {
+					step(token, key.charAt(i), row, next);
+					int[] swap = row;
+					row = next;
+					next = swap;
+				}
+				return row[m];
+			}
+			long last = 1L << (m - 1);
+			long pv = -1;
+			long mv = 0;
+			int score = m;
+			for (int i = from; i < to; i++) {
+				long eq = positions(key.charAt(i));
+				long xv = eq | mv;
+				long xh = (((eq & pv) + pv) ^ pv) | eq;
+				long ph = mv | ~(xh | pv);
+				long mh = pv & xh;
+				if ((ph & last) != 0) {
+					score++;
+				} else if ((mh & last) != 0) {
+					score--;
+				}
+				// The first row of the table counts up, so a 1 enters the horizontal deltas.
+				ph = ph << 1 | 1;
+				mh <<= 1;
+				pv = mh | ~(xv | ph);
+				mv = ph & xv;
+			}
+			return score;
+		}
+
+		private long positions(char c) {
+			if (c < 128) {
+				return ascii[c];
+			}
+			long bits = 0;
+			for (int i = 0; i < token.length(); i++) {
+				if (token.charAt(i) == c) {
+					bits |= 1L << i;
+				}
+			}
+			return bits;
+		}
+	}
+
+	/**
+	 * A course found by a search and its total number of edits.
+	 */
+	static final class Match {
+		final Course course;
+		final int distance;
+
+		Match(Course course, int distance) {
+			this.course = course;
+			this.distance = distance;
+		}
+	}
+
+	/** A token in use near a query token. */
+	private static final class Term {
+		final String token;
+		final Set<Course> courses;
+		final int distance;
+
+		Term(String token, Set<Course> courses, int distance) {
+			this.token = token;
+			this.courses = courses;
+			this.distance = distance;
+		}
+	}
+
+	/**
+	 * A node of the trie: the characters that follow its prefix, and the
+	 * courses if its prefix is a token in use.
+	 */
+	private static final class Node {
+		private static final char[] NO_LABELS = new char[0];
+		private static final Node[] NO_CHILDREN = new Node[0];
+
+		char[] labels = NO_LABELS;
+		Node[] children = NO_CHILDREN;
+		int size;
+		/** The token that ends here, or null. */
+		String token;
+		/** The courses with the token, or null. */
+		Set<Course> courses;
+
+		Node child(char c) {
+			for (int i = 0; i < size; i++) {
+				if (labels[i] == c) {
+					return children[i];
+				}
+			}
+			return null;
+		}
+
+		Node add(char c) {
+			if (size == labels.length) {
+				labels = Arrays.copyOf(labels, Math.max(2, size * 2));
+				children = Arrays.copyOf(children, labels.length);
+			}
+			Node child = new Node();
+			labels[size] = c;
+			children[size++] = child;
+			return child;
+		}
+
+		void remove(char c) {
+			for (int i = 0; i < size; i++) {
+				if (labels[i] == c) {
+					size--;
+					labels[i] = labels[size];
+					children[i] = children[size];
+					children[size] = null;
+					return;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * @ (#) TitleTrigramIndex.java 		1.0 	Oct 18, 2026
+ *
+ * Copyright (c) 2026 IUH. All right reserved
+ */
+
+package iuh.fit.ktpm;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * @description
+ * @author: Pham Thanh Huy
+ * @version: 1.0
+ * @create:	Oct 18, 2026
+ */
+
+/**
+ * An inverted index from the trigrams (runs of three characters) of the
+ * title keys of the courses to the courses whose title key contains them.
+ * <p>
+ * Every title that contains a query of three or more characters also contains
+ * all trigrams of the query, so the courses of the rarest query trigram are a
+ * small superset of the matches. Candidates are checked against the title key
+ * that each course keeps (see {@link CourseKeys}), so titles are never
+ * converted again at query time.
+ */
+final class TitleTrigramIndex {
+	static final int GRAM = 3;
+
+	private final Map<Long, Set<Course>> postings = new HashMap<>();
+
+	/**
+	 * Adds a course to the index under a title key.
+	 *
+	 * @param course the course to add
+	 * @param key the key of the title of the course
+	 */
+	void add(Course course, String key) {
+		for (int i = 0; i + GRAM <= key.length(); i++) {
+			postings.computeIfAbsent(gram(key, i), g -> new CourseSet()).add(course);
+		}
+	}
+
+	/**
+	 * Removes a course from the index.
+	 *
+	 * @param course the course to remove
+	 * @param key the title key the course was added under
+	 */
+	void remove(Course course, String key) {
+		for (int i = 0; i + GRAM <= key.length(); i++) {
+			Long gram = gram(key, i);
+			Set<Course> set = postings.get(gram);
+			if (set != null) {
+				set.remove(course);
+				if (set.isEmpty()) {
+					postings.remove(gram);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the courses that may have a title containing a query: the
+	 * courses of the rarest trigram of the query.
+	 *
+	 * @param query the normalized query, at least {@link #GRAM} characters long
+	 * @return the candidate courses, empty if some trigram of the query is in no title
+	 */
+	Set<Course> candidates(String query) {
+		Set<Course> best = null;
+		for (int i = 0; i + GRAM <= query.length(); i++) {
+			Set<Course> set = postings.get(gram(query, i));
+			if (set == null) {
+				return Collections.emptySet();
+			}
+			if (best == null || set.size() < best.size()) {
+				best = set;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Checks whether the indexed title of a course contains a query.
+	 *
+	 * @param course a course of the index
+	 * @param query the normalized query
+	 * @return true if the title of the course contains the query
+	 */
+	static boolean matches(Course course, String query) {
+		return course.titleKey().contains(query);
+	}
+
+	private static Long gram(String key, int i) {
+		return ((long) key.charAt(i) << 32) | ((long) key.charAt(i + 1) << 16) | key.charAt(i + 2);
+	}
+}